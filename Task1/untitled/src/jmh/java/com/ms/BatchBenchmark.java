@@ -0,0 +1,99 @@
+package com.ms;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Пропускная способность пары производитель/потребитель в зависимости от
+ * размера пакета, передаваемого за ход ({@link BatchedPingPong}).
+ *
+ * <p>Один вызов — передача {@code items} элементов; счётчик {@code items}
+ * даёт число элементов в секунду. {@code batch = 1} соответствует обычному
+ * Ping/Pong (один элемент за ход), {@code adaptive} — размеру от 1 до 4096,
+ * подбираемому по времени ожидания потребителя.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchBenchmark {
+    private static final int MAX_BATCH = 4096;
+
+    @Param({"1", "16", "256", "4096", "adaptive"})
+    public String batch;
+
+    @Param({"100000"})
+    public int items;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ThreadMode threadMode;
+
+    @Param({"MONITOR", "LOCK_CONDITION", "SPIN_PARK"})
+    public HandoffStrategy strategy;
+
+    /**
+     * Счётчик переданных элементов.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ItemCounter {
+        public long items;
+
+        /**
+         * Сбрасывает счётчик перед каждой итерацией измерения.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            items = 0;
+        }
+    }
+
+    /**
+     * Проверяет режим потоков.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (!threadMode.isSupported()) {
+            throw new IllegalStateException("Режим " + threadMode + " не поддерживается этой JVM");
+        }
+    }
+
+    /**
+     * Передача всех элементов пакетами.
+     *
+     * @param counters  счётчик элементов
+     * @param blackhole приёмник элементов на стороне потребителя
+     * @throws InterruptedException если поток бенчмарка прерван
+     */
+    @Benchmark
+    public void transfer(final ItemCounter counters, final Blackhole blackhole) throws InterruptedException {
+        final BatchSizer sizer = "adaptive".equals(batch)
+                ? BatchSizer.adaptive(1, MAX_BATCH) : BatchSizer.fixed(Integer.parseInt(batch));
+        final BatchedPingPong pair = new BatchedPingPong(strategy.create(), items, sizer, blackhole::consume);
+        Thread pingThread = threadMode.newThread(pair.pingTask());
+        Thread pongThread = threadMode.newThread(pair.pongTask());
+
+        pingThread.start();
+        pongThread.start();
+
+        pingThread.join();
+        pongThread.join();
+        counters.items += items;
+    }
+}
@@ -0,0 +1,285 @@
+package com.ms;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Сравнение реализаций {@link TurnHandoff}: монитор (как в {@link PingPong}),
+ * ReentrantLock + Condition (как в {@link ReentrantLockCondition}),
+ * lock-free spin-then-park, семафоры и Phaser, — а также пар на встречах
+ * {@link Rendezvous} (Exchanger, SynchronousQueue).
+ *
+ * <p>В режиме throughput один вызов бенчмарка — полный обмен {@code iterations}
+ * раундов, т.е. {@code 2 * iterations} передач хода, включая старт пары
+ * потоков; дополнительно выводится счётчик {@code handoffs} (передач хода
+ * в секунду). В режиме sample один вызов — один раунд туда-обратно с Pong,
+ * который живёт в постоянном потоке из {@code @Setup}: среднее и p99 относятся
+ * к отдельной передаче хода, а не к старту потоков.
+ *
+ * <p>Параметр {@code output} выбирает приёмник слов: {@code NULL} — только
+ * передача хода, {@code BUFFERED} — плюс копирование в переиспользуемый буфер
+ * с пакетной выгрузкой (в поток, отбрасывающий данные).
+ *
+ * <p>Реализация выбирается параметром {@code strategy} для методов
+ * {@code exchange*} и {@code rendezvous} для методов {@code rendezvous*};
+ * параметры объявлены в отдельных состояниях, чтобы JMH не перемножал их.
+ *
+ * <p>Режим VIRTUAL требует запуска на Java 21+.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HandoffBenchmark {
+    private static final byte[] SEPARATOR = {' '};
+    private static final byte[] PING_WORD = "Ping".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PONG_WORD = "Pong".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ThreadMode threadMode;
+
+    @Param({"NULL", "BUFFERED"})
+    public String output;
+
+    private OutputSink sink;
+
+    /**
+     * Реализация передачи хода.
+     */
+    @State(Scope.Thread)
+    public static class Turns {
+        @Param({"MONITOR", "LOCK_CONDITION", "SPIN_PARK", "SEMAPHORE", "PHASER"})
+        public HandoffStrategy strategy;
+    }
+
+    /**
+     * Реализация встречи.
+     */
+    @State(Scope.Thread)
+    public static class Meetings {
+        @Param({"EXCHANGER", "SYNCHRONOUS_QUEUE"})
+        public RendezvousStrategy rendezvous;
+    }
+
+    /**
+     * Число раундов в обмене; только для режима throughput.
+     */
+    @State(Scope.Thread)
+    public static class Rounds {
+        @Param({"1", "100", "10000"})
+        public int iterations;
+    }
+
+    /**
+     * Pong поверх передачи хода в постоянном потоке: отвечает на каждый ход,
+     * пока его не прервут.
+     */
+    @State(Scope.Thread)
+    public static class TurnPartner {
+        private TurnHandoff handoff;
+        private Thread pong;
+
+        /**
+         * Запускает поток Pong.
+         *
+         * @param benchmark режим потоков и приёмник слов
+         * @param turns     реализация передачи хода
+         */
+        @Setup(Level.Trial)
+        public void start(final HandoffBenchmark benchmark, final Turns turns) {
+            handoff = turns.strategy.create();
+            final OutputSink sink = benchmark.sink;
+            pong = benchmark.threadMode.newThread(() -> {
+                try {
+                    while (true) {
+                        handoff.awaitTurn(TurnHandoff.PONG);
+                        sink.write(PONG_WORD);
+                        sink.write(SEPARATOR);
+                        handoff.passTurn(TurnHandoff.PONG);
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            pong.start();
+        }
+
+        /**
+         * Останавливает поток Pong.
+         *
+         * @throws InterruptedException если поток бенчмарка прерван
+         */
+        @TearDown(Level.Trial)
+        public void stop() throws InterruptedException {
+            pong.interrupt();
+            pong.join();
+        }
+    }
+
+    /**
+     * Pong на встречах в постоянном потоке: отвечает на каждую встречу,
+     * пока его не прервут.
+     */
+    @State(Scope.Thread)
+    public static class MeetingPartner {
+        private Rendezvous rendezvous;
+        private Thread pong;
+
+        /**
+         * Запускает поток Pong.
+         *
+         * @param benchmark режим потоков и приёмник слов
+         * @param meetings  реализация встречи
+         */
+        @Setup(Level.Trial)
+        public void start(final HandoffBenchmark benchmark, final Meetings meetings) {
+            rendezvous = meetings.rendezvous.create();
+            final OutputSink sink = benchmark.sink;
+            pong = benchmark.threadMode.newThread(() -> {
+                try {
+                    while (true) {
+                        rendezvous.awaitHandOver();
+                        sink.write(PONG_WORD);
+                        sink.write(SEPARATOR);
+                        rendezvous.handOver();
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            pong.start();
+        }
+
+        /**
+         * Останавливает поток Pong.
+         *
+         * @throws InterruptedException если поток бенчмарка прерван
+         */
+        @TearDown(Level.Trial)
+        public void stop() throws InterruptedException {
+            pong.interrupt();
+            pong.join();
+        }
+    }
+
+    /**
+     * Счётчик передач хода, выводимый JMH вместе с результатом.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class HandoffCounter {
+        public long handoffs;
+
+        /**
+         * Сбрасывает счётчик перед каждой итерацией измерения.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            handoffs = 0;
+        }
+    }
+
+    /**
+     * Проверяет режим потоков и готовит приёмник слов.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (!threadMode.isSupported()) {
+            throw new IllegalStateException("Режим " + threadMode + " не поддерживается этой JVM");
+        }
+        sink = "BUFFERED".equals(output) ? new BufferedSink(OutputStream.nullOutputStream()) : NullSink.INSTANCE;
+    }
+
+    /**
+     * Пропускная способность обмена.
+     *
+     * @param turns    реализация передачи хода
+     * @param rounds   число раундов
+     * @param counters счётчик передач хода
+     * @throws InterruptedException если поток бенчмарка прерван
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void exchangeThroughput(final Turns turns, final Rounds rounds, final HandoffCounter counters)
+            throws InterruptedException {
+        exchange(new HandoffPair(turns.strategy.create(), rounds.iterations, sink));
+        counters.handoffs += 2L * rounds.iterations;
+    }
+
+    /**
+     * Распределение времени одного раунда туда-обратно.
+     *
+     * @param partner Pong в постоянном потоке
+     * @throws InterruptedException если поток бенчмарка прерван
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void exchangeLatency(final TurnPartner partner) throws InterruptedException {
+        partner.handoff.awaitTurn(TurnHandoff.PING);
+        sink.write(PING_WORD);
+        sink.write(SEPARATOR);
+        partner.handoff.passTurn(TurnHandoff.PING);
+    }
+
+    /**
+     * Пропускная способность обмена через встречи.
+     *
+     * @param meetings реализация встречи
+     * @param rounds   число раундов
+     * @param counters счётчик передач хода
+     * @throws InterruptedException если поток бенчмарка прерван
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void rendezvousThroughput(final Meetings meetings, final Rounds rounds, final HandoffCounter counters)
+            throws InterruptedException {
+        exchange(new RendezvousPair(meetings.rendezvous.create(), rounds.iterations, sink));
+        counters.handoffs += 2L * rounds.iterations;
+    }
+
+    /**
+     * Распределение времени одного раунда туда-обратно через встречи.
+     *
+     * @param partner Pong в постоянном потоке
+     * @throws InterruptedException если поток бенчмарка прерван
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void rendezvousLatency(final MeetingPartner partner) throws InterruptedException {
+        sink.write(PING_WORD);
+        sink.write(SEPARATOR);
+        partner.rendezvous.handOver();
+        partner.rendezvous.awaitHandOver();
+    }
+
+    private void exchange(final PingPongPair pair) throws InterruptedException {
+        Thread pingThread = threadMode.newThread(pair.pingTask());
+        Thread pongThread = threadMode.newThread(pair.pongTask());
+
+        pingThread.start();
+        pongThread.start();
+
+        pingThread.join();
+        pongThread.join();
+    }
+}
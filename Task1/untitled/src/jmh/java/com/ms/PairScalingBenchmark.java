@@ -0,0 +1,107 @@
+package com.ms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Суммарная пропускная способность при росте числа независимых пар.
+ *
+ * <p>Один вызов — запуск {@code pairs} пар по {@code iterations} раундов через
+ * {@link PairLauncher}; счётчик {@code handoffs} даёт суммарное число передач
+ * хода в секунду по всем парам. Зависимость от числа ядер снимается запуском
+ * с {@code -jvmArgsAppend -XX:ActiveProcessorCount=N} (или под taskset).
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PairScalingBenchmark {
+    @Param({"1", "2", "4", "16", "64", "256"})
+    public int pairs;
+
+    @Param({"1000"})
+    public int iterations;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ThreadMode threadMode;
+
+    @Param({"MONITOR", "LOCK_CONDITION", "SPIN_PARK", "SEMAPHORE", "PHASER"})
+    public HandoffStrategy strategy;
+
+    private ExecutorService executor;
+    private PairLauncher launcher;
+
+    /**
+     * Счётчик передач хода по всем парам.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class HandoffCounter {
+        public long handoffs;
+
+        /**
+         * Сбрасывает счётчик перед каждой итерацией измерения.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            handoffs = 0;
+        }
+    }
+
+    /**
+     * Создаёт исполнитель выбранного типа.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (!threadMode.isSupported()) {
+            throw new IllegalStateException("Режим " + threadMode + " не поддерживается этой JVM");
+        }
+        executor = threadMode.newExecutor();
+        launcher = new PairLauncher(executor);
+    }
+
+    /**
+     * Останавливает исполнитель.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Запуск всех пар до завершения.
+     *
+     * @param counters счётчик передач хода
+     * @throws InterruptedException если поток бенчмарка прерван
+     * @throws ExecutionException   если задача пары завершилась с ошибкой
+     */
+    @Benchmark
+    public void runPairs(final HandoffCounter counters) throws InterruptedException, ExecutionException {
+        final List<HandoffPair> batch = new ArrayList<>(pairs);
+        for (int i = 0; i < pairs; i++) {
+            batch.add(new HandoffPair(strategy.create(), iterations, NullSink.INSTANCE));
+        }
+        launcher.run(batch);
+        counters.handoffs += 2L * pairs * iterations;
+    }
+}
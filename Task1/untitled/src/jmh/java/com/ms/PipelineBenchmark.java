@@ -0,0 +1,121 @@
+package com.ms;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Конвейерный обмен через кольцевой буфер против строгого чередования ходов.
+ *
+ * <p>Один вызов — передача {@code items} элементов от Ping к Pong; счётчик
+ * {@code items} даёт число элементов в секунду. {@code lockStep} передаёт по
+ * одному элементу за ход ({@link BatchedPingPong} с пакетом 1),
+ * {@code ringBuffer} — через {@link RingBufferHandoff} с выбранной стратегией
+ * ожидания. Параметры каждого варианта объявлены в его собственном состоянии,
+ * поэтому JMH не перемножает их между вариантами.
+ *
+ * <p>BUSY_SPIN имеет смысл только при числе ядер не меньше двух.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PipelineBenchmark {
+    @Param({"100000"})
+    public int items;
+
+    /**
+     * Параметры строгого чередования.
+     */
+    @State(Scope.Thread)
+    public static class LockStep {
+        @Param({"LOCK_CONDITION", "SPIN_PARK"})
+        public HandoffStrategy strategy;
+    }
+
+    /**
+     * Параметры кольцевого буфера.
+     */
+    @State(Scope.Thread)
+    public static class Ring {
+        @Param({"BUSY_SPIN", "YIELD", "PARK"})
+        public WaitStrategy waitStrategy;
+
+        @Param({"1024"})
+        public int capacity;
+    }
+
+    /**
+     * Счётчик переданных элементов.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ItemCounter {
+        public long items;
+
+        /**
+         * Сбрасывает счётчик перед каждой итерацией измерения.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            items = 0;
+        }
+    }
+
+    /**
+     * Строгое чередование: один элемент за ход.
+     *
+     * @param params    параметры варианта
+     * @param counters  счётчик элементов
+     * @param blackhole приёмник элементов
+     * @throws InterruptedException если поток бенчмарка прерван
+     */
+    @Benchmark
+    public void lockStep(final LockStep params, final ItemCounter counters, final Blackhole blackhole)
+            throws InterruptedException {
+        run(new BatchedPingPong(params.strategy.create(), items, BatchSizer.fixed(1), blackhole::consume));
+        counters.items += items;
+    }
+
+    /**
+     * Конвейер через кольцевой буфер.
+     *
+     * @param params    параметры варианта
+     * @param counters  счётчик элементов
+     * @param blackhole приёмник элементов
+     * @throws InterruptedException если поток бенчмарка прерван
+     */
+    @Benchmark
+    public void ringBuffer(final Ring params, final ItemCounter counters, final Blackhole blackhole)
+            throws InterruptedException {
+        run(new RingBufferPingPong(new RingBufferHandoff(params.capacity, params.waitStrategy), items,
+                blackhole::consume));
+        counters.items += items;
+    }
+
+    private static void run(final PingPongPair pair) throws InterruptedException {
+        Thread pingThread = new Thread(pair.pingTask());
+        Thread pongThread = new Thread(pair.pongTask());
+
+        pingThread.start();
+        pongThread.start();
+
+        pingThread.join();
+        pongThread.join();
+    }
+}
@@ -0,0 +1,97 @@
+package com.ms;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Время одного круга передачи хода без затрат на старт потоков.
+ *
+ * <p>Поток бенчмарка — участник 0, остальные {@code parties - 1} участников
+ * кольца живут в постоянных фоновых потоках и сразу передают ход дальше.
+ * Одна операция — {@code parties} передач хода; при {@code parties = 2} это
+ * раунд Ping/Pong туда-обратно. Режим sample выводит среднее и p99 круга.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoundTripBenchmark {
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ThreadMode threadMode;
+
+    @Param({"MONITOR", "LOCK_CONDITION", "SPIN_PARK", "SEMAPHORE", "PHASER"})
+    public HandoffStrategy strategy;
+
+    @Param({"2", "4", "8"})
+    public int parties;
+
+    private TurnHandoff handoff;
+    private Thread[] echoThreads;
+
+    /**
+     * Запускает фоновых участников, которые передают ход дальше по кольцу.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (!threadMode.isSupported()) {
+            throw new IllegalStateException("Режим " + threadMode + " не поддерживается этой JVM");
+        }
+        handoff = strategy.create(parties);
+        echoThreads = new Thread[parties - 1];
+        for (int i = 0; i < echoThreads.length; i++) {
+            final int party = i + 1;
+            echoThreads[i] = threadMode.newThread(() -> echo(party));
+            echoThreads[i].start();
+        }
+    }
+
+    /**
+     * Останавливает фоновых участников.
+     *
+     * @throws InterruptedException если поток бенчмарка прерван
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        for (final Thread thread : echoThreads) {
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    /**
+     * Один круг: дождаться хода участника 0 и передать его дальше.
+     *
+     * @throws InterruptedException если поток бенчмарка прерван
+     */
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    public void roundTrip() throws InterruptedException {
+        handoff.awaitTurn(TurnHandoff.PING);
+        handoff.passTurn(TurnHandoff.PING);
+    }
+
+    private void echo(final int party) {
+        try {
+            while (true) {
+                handoff.awaitTurn(party);
+                handoff.passTurn(party);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.ms;
+
+/**
+ * Размер пакета, передаваемого за один ход.
+ *
+ * <p>Фиксированный размер задаётся через {@link #fixed(int)}. Адаптивный
+ * ({@link #adaptive(int, int)}) подстраивается по тому, сколько партнёр ждал
+ * очередного пакета: всё, что он ждал сверх времени заполнения пакета, — это
+ * накладные расходы передачи хода. Пока они заметны на фоне заполнения,
+ * размер удваивается, чтобы распределить их на большее число элементов;
+ * когда они пренебрежимо малы, размер уменьшается вдвое, чтобы элементы не
+ * задерживались в слишком крупных пакетах.
+ *
+ * <p>Экземпляр используется только производителем пакетов и не потокобезопасен.
+ */
+public final class BatchSizer {
+    /** Рост, если накладные расходы больше 1/8 времени заполнения. */
+    private static final int GROW_RATIO = 8;
+    /** Уменьшение, если накладные расходы меньше 1/64 времени заполнения. */
+    private static final int SHRINK_RATIO = 64;
+
+    private final int min;
+    private final int max;
+    private int current;
+
+    private BatchSizer(final int min, final int max, final int initial) {
+        if (min <= 0 || max < min) {
+            throw new IllegalArgumentException("Некорректные границы пакета: " + min + ".." + max);
+        }
+        this.min = min;
+        this.max = max;
+        this.current = initial;
+    }
+
+    /**
+     * Создаёт постоянный размер пакета.
+     *
+     * @param size число элементов в пакете
+     * @return размер пакета
+     */
+    public static BatchSizer fixed(final int size) {
+        return new BatchSizer(size, size, size);
+    }
+
+    /**
+     * Создаёт адаптивный размер пакета, начиная с минимального.
+     *
+     * @param min минимальное число элементов
+     * @param max максимальное число элементов
+     * @return размер пакета
+     */
+    public static BatchSizer adaptive(final int min, final int max) {
+        return new BatchSizer(min, max, min);
+    }
+
+    /**
+     * Возвращает текущий размер пакета.
+     *
+     * @return число элементов
+     */
+    public int getSize() {
+        return current;
+    }
+
+    /**
+     * Возвращает максимальный размер пакета.
+     *
+     * @return число элементов
+     */
+    public int getMaxSize() {
+        return max;
+    }
+
+    /**
+     * Пересчитывает размер пакета по результатам предыдущего хода.
+     *
+     * @param partnerWaitNanos сколько партнёр ждал предыдущего пакета
+     * @param fillNanos        сколько заняло заполнение предыдущего пакета
+     * @return новый размер пакета
+     */
+    public int adapt(final long partnerWaitNanos, final long fillNanos) {
+        final long overhead = partnerWaitNanos - fillNanos;
+        if (overhead * GROW_RATIO > fillNanos) {
+            current = (int) Math.min(2L * current, max);
+        } else if (overhead * SHRINK_RATIO < fillNanos) {
+            current = Math.max(current / 2, min);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,151 @@
+package com.ms;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Пара производитель/потребитель, передающая за ход пакет из K элементов.
+ *
+ * <p>Ping заполняет общий буфер очередными номерами элементов и передаёт ход,
+ * Pong обрабатывает весь пакет и возвращает ход. Постоянная цена передачи
+ * хода (блокировка, ожидание, сигнал) распределяется на K элементов. Буфер,
+ * размер пакета и время ожидания потребителя принадлежат тому, чей сейчас ход,
+ * поэтому обходятся без volatile и блокировок: видимость обеспечивает
+ * {@link TurnHandoff}.
+ */
+public final class BatchedPingPong implements PingPongPair {
+    private static final int DEFAULT_ITEMS = 1_000_000;
+    private static final int DEFAULT_MAX_BATCH = 4096;
+
+    private final TurnHandoff handoff;
+    private final long totalItems;
+    private final BatchSizer sizer;
+    private final LongConsumer consumer;
+    private final long[] items;
+    private int size;
+    private long partnerWaitNanos;
+    private long batches;
+
+    /**
+     * Создаёт пару.
+     *
+     * @param handoff    передача хода для двух участников
+     * @param totalItems общее число элементов
+     * @param sizer      размер пакета (фиксированный или адаптивный)
+     * @param consumer   обработчик элементов на стороне Pong
+     */
+    public BatchedPingPong(final TurnHandoff handoff, final long totalItems,
+                           final BatchSizer sizer, final LongConsumer consumer) {
+        if (handoff.parties() != TurnHandoff.MIN_PARTIES) {
+            throw new IllegalArgumentException("Паре нужна передача хода на 2 участника: " + handoff.parties());
+        }
+        this.handoff = handoff;
+        this.totalItems = totalItems;
+        this.sizer = sizer;
+        this.consumer = consumer;
+        this.items = new long[sizer.getMaxSize()];
+    }
+
+    @Override
+    public Runnable pingTask() {
+        return this::produce;
+    }
+
+    @Override
+    public Runnable pongTask() {
+        return this::consume;
+    }
+
+    /**
+     * Возвращает число переданных пакетов; читать после завершения обеих задач.
+     *
+     * @return число пакетов
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * Возвращает размер пакета на последнем ходе; читать после завершения обеих задач.
+     *
+     * @return число элементов
+     */
+    public int getBatchSize() {
+        return sizer.getSize();
+    }
+
+    private void produce() {
+        long produced = 0;
+        long fillNanos = 0;
+        while (produced < totalItems) {
+            try {
+                handoff.awaitTurn(TurnHandoff.PING);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                final int batch = batches == 0 ? sizer.getSize() : sizer.adapt(partnerWaitNanos, fillNanos);
+                final long start = System.nanoTime();
+                size = (int) Math.min(batch, totalItems - produced);
+                for (int i = 0; i < size; i++) {
+                    items[i] = produced + i;
+                }
+                produced += size;
+                batches++;
+                fillNanos = System.nanoTime() - start;
+            } finally {
+                handoff.passTurn(TurnHandoff.PING);
+            }
+        }
+    }
+
+    private void consume() {
+        long consumed = 0;
+        while (consumed < totalItems) {
+            final long start = System.nanoTime();
+            try {
+                handoff.awaitTurn(TurnHandoff.PONG);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                partnerWaitNanos = System.nanoTime() - start;
+                for (int i = 0; i < size; i++) {
+                    consumer.accept(items[i]);
+                }
+                consumed += size;
+            } finally {
+                handoff.passTurn(TurnHandoff.PONG);
+            }
+        }
+    }
+
+    /**
+     * Прогоняет пару с фиксированным или адаптивным пакетом и печатает итог.
+     *
+     * @param args [число элементов] [размер пакета или "adaptive"]
+     * @throws InterruptedException если основной поток прерван
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        final long total = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_ITEMS;
+        final boolean adaptive = args.length < 2 || "adaptive".equals(args[1]);
+        final BatchSizer sizer = adaptive
+                ? BatchSizer.adaptive(1, DEFAULT_MAX_BATCH) : BatchSizer.fixed(Integer.parseInt(args[1]));
+        final long[] checksum = new long[1];
+        final BatchedPingPong pair = new BatchedPingPong(new LockConditionHandoff(), total, sizer,
+                item -> checksum[0] += item);
+
+        final Thread ping = new Thread(pair.pingTask());
+        final Thread pong = new Thread(pair.pongTask());
+        final long start = System.nanoTime();
+        ping.start();
+        pong.start();
+        ping.join();
+        pong.join();
+        final long elapsed = System.nanoTime() - start;
+
+        System.out.printf("Элементов: %d, пакетов: %d, последний пакет: %d, элементов/с: %.0f, сумма: %d%n",
+                total, pair.getBatches(), pair.getBatchSize(), total * 1e9 / elapsed, checksum[0]);
+    }
+}
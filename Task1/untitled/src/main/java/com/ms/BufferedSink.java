@@ -0,0 +1,82 @@
+package com.ms;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Приёмник с заранее выделенным переиспользуемым буфером.
+ *
+ * <p>Запись только копирует байты в буфер — без выделения памяти и без
+ * синхронизации. В нижележащий поток данные уходят пакетами: когда буфер
+ * заполнен и при явном {@link #flush()}.
+ */
+public final class BufferedSink implements OutputSink {
+    /** Размер буфера по умолчанию. */
+    public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * Создаёт приёмник с буфером по умолчанию.
+     *
+     * @param out нижележащий поток
+     */
+    public BufferedSink(final OutputStream out) {
+        this(out, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создаёт приёмник.
+     *
+     * @param out      нижележащий поток
+     * @param capacity размер буфера в байтах
+     */
+    public BufferedSink(final OutputStream out, final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Размер буфера должен быть положительным: " + capacity);
+        }
+        this.out = out;
+        this.buffer = new byte[capacity];
+    }
+
+    @Override
+    public void write(final byte[] bytes) {
+        if (bytes.length > buffer.length - position) {
+            drain();
+            if (bytes.length > buffer.length) {
+                writeThrough(bytes, bytes.length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    @Override
+    public void flush() {
+        drain();
+        try {
+            out.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drain() {
+        if (position > 0) {
+            writeThrough(buffer, position);
+            position = 0;
+        }
+    }
+
+    private void writeThrough(final byte[] bytes, final int length) {
+        try {
+            out.write(bytes, 0, length);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ms;
+
+import java.util.concurrent.Exchanger;
+
+/**
+ * Встреча через {@link Exchanger}: обе стороны обмениваются пустым маркером,
+ * поэтому передача и приём хода выглядят одинаково.
+ */
+public final class ExchangerRendezvous implements Rendezvous {
+    private static final Object TOKEN = new Object();
+
+    private final Exchanger<Object> exchanger = new Exchanger<>();
+
+    @Override
+    public void handOver() throws InterruptedException {
+        exchanger.exchange(TOKEN);
+    }
+
+    @Override
+    public void awaitHandOver() throws InterruptedException {
+        exchanger.exchange(TOKEN);
+    }
+}
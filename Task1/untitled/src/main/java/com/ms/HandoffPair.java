@@ -0,0 +1,45 @@
+package com.ms;
+
+/**
+ * Пара Ping/Pong поверх собственного экземпляра {@link TurnHandoff}.
+ */
+public class HandoffPair implements PingPongPair {
+    private final TurnHandoff handoff;
+    private final int iterations;
+    private final OutputSink sink;
+
+    /**
+     * Создаёт пару.
+     *
+     * @param handoff    передача хода для двух участников
+     * @param iterations число раундов
+     * @param sink       приёмник вывода слов
+     */
+    public HandoffPair(final TurnHandoff handoff, final int iterations, final OutputSink sink) {
+        if (handoff.parties() != TurnHandoff.MIN_PARTIES) {
+            throw new IllegalArgumentException("Паре нужна передача хода на 2 участника: " + handoff.parties());
+        }
+        this.handoff = handoff;
+        this.iterations = iterations;
+        this.sink = sink;
+    }
+
+    @Override
+    public Runnable pingTask() {
+        return new TurnTask(handoff, TurnHandoff.PING, "Ping", iterations, sink);
+    }
+
+    @Override
+    public Runnable pongTask() {
+        return new TurnTask(handoff, TurnHandoff.PONG, "Pong", iterations, sink);
+    }
+
+    /**
+     * Возвращает передачу хода этой пары.
+     *
+     * @return передача хода
+     */
+    TurnHandoff getHandoff() {
+        return handoff;
+    }
+}
@@ -0,0 +1,125 @@
+package com.ms;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Замеры {@link LockConditionHandoff}: задержка пробуждения и время удержания
+ * блокировки в гистограммах {@link LatencyHistogram}.
+ *
+ * <p>Один экземпляр можно разделять между любым числом передач хода и потоков.
+ * Доступен через JMX ({@link #register(String)}) и текстом ({@link #getReport()}).
+ */
+public final class HandoffRecorder implements HandoffStatsMXBean {
+    private static final double P50 = 0.5;
+    private static final double P99 = 0.99;
+    private static final double P999 = 0.999;
+
+    private final LatencyHistogram wakeups = new LatencyHistogram();
+    private final LatencyHistogram lockHolds = new LatencyHistogram();
+
+    /**
+     * Учитывает задержку пробуждения.
+     *
+     * @param nanos время от signal() до возврата из await()
+     */
+    public void recordWakeup(final long nanos) {
+        wakeups.record(nanos);
+    }
+
+    /**
+     * Учитывает время удержания блокировки.
+     *
+     * @param nanos время от захвата до освобождения блокировки
+     */
+    public void recordLockHold(final long nanos) {
+        lockHolds.record(nanos);
+    }
+
+    /**
+     * Регистрирует замеры в платформенном MBean-сервере как
+     * {@code com.ms:type=HandoffStats,name=<name>}, заменяя прежнюю регистрацию
+     * с тем же именем.
+     *
+     * @param name имя прогона
+     * @return имя зарегистрированного MBean
+     */
+    public ObjectName register(final String name) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName objectName = new ObjectName("com.ms:type=HandoffStats,name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (final JMException e) {
+            throw new IllegalStateException("Не удалось зарегистрировать MBean " + name, e);
+        }
+    }
+
+    @Override
+    public long getWakeupCount() {
+        return wakeups.snapshot().getCount();
+    }
+
+    @Override
+    public long getWakeupP50Nanos() {
+        return wakeups.snapshot().percentile(P50);
+    }
+
+    @Override
+    public long getWakeupP99Nanos() {
+        return wakeups.snapshot().percentile(P99);
+    }
+
+    @Override
+    public long getWakeupP999Nanos() {
+        return wakeups.snapshot().percentile(P999);
+    }
+
+    @Override
+    public long getWakeupMaxNanos() {
+        return wakeups.snapshot().getMax();
+    }
+
+    @Override
+    public long getLockHoldCount() {
+        return lockHolds.snapshot().getCount();
+    }
+
+    @Override
+    public long getLockHoldP50Nanos() {
+        return lockHolds.snapshot().percentile(P50);
+    }
+
+    @Override
+    public long getLockHoldP99Nanos() {
+        return lockHolds.snapshot().percentile(P99);
+    }
+
+    @Override
+    public long getLockHoldP999Nanos() {
+        return lockHolds.snapshot().percentile(P999);
+    }
+
+    @Override
+    public long getLockHoldMaxNanos() {
+        return lockHolds.snapshot().getMax();
+    }
+
+    @Override
+    public String getReport() {
+        return "Пробуждение: " + wakeups.snapshot() + System.lineSeparator()
+                + "Удержание блокировки: " + lockHolds.snapshot();
+    }
+
+    @Override
+    public void reset() {
+        wakeups.reset();
+        lockHolds.reset();
+    }
+}
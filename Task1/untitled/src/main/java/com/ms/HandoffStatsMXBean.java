@@ -0,0 +1,70 @@
+package com.ms;
+
+/**
+ * JMX-представление замеров передачи хода.
+ *
+ * <p>Задержка пробуждения — время от {@code signal()} до возврата разбуженного
+ * потока из {@code await()}; удержание блокировки — время от её захвата до
+ * освобождения в {@code awaitTurn}/{@code passTurn}. Все времена в наносекундах.
+ */
+public interface HandoffStatsMXBean {
+    /**
+     * @return число замеренных пробуждений
+     */
+    long getWakeupCount();
+
+    /**
+     * @return медиана задержки пробуждения
+     */
+    long getWakeupP50Nanos();
+
+    /**
+     * @return 99-й перцентиль задержки пробуждения
+     */
+    long getWakeupP99Nanos();
+
+    /**
+     * @return 99,9-й перцентиль задержки пробуждения
+     */
+    long getWakeupP999Nanos();
+
+    /**
+     * @return максимальная задержка пробуждения
+     */
+    long getWakeupMaxNanos();
+
+    /**
+     * @return число замеренных удержаний блокировки
+     */
+    long getLockHoldCount();
+
+    /**
+     * @return медиана времени удержания блокировки
+     */
+    long getLockHoldP50Nanos();
+
+    /**
+     * @return 99-й перцентиль времени удержания блокировки
+     */
+    long getLockHoldP99Nanos();
+
+    /**
+     * @return 99,9-й перцентиль времени удержания блокировки
+     */
+    long getLockHoldP999Nanos();
+
+    /**
+     * @return максимальное время удержания блокировки
+     */
+    long getLockHoldMaxNanos();
+
+    /**
+     * @return текстовый отчёт по обеим гистограммам
+     */
+    String getReport();
+
+    /**
+     * Обнуляет обе гистограммы.
+     */
+    void reset();
+}
@@ -0,0 +1,63 @@
+package com.ms;
+
+/**
+ * Доступные реализации {@link TurnHandoff} — для бенчмарков и тестов.
+ */
+public enum HandoffStrategy {
+    /** synchronized/wait/notify. */
+    MONITOR {
+        @Override
+        public TurnHandoff create(final int parties) {
+            return new MonitorHandoff(parties);
+        }
+    },
+
+    /** ReentrantLock + Condition. */
+    LOCK_CONDITION {
+        @Override
+        public TurnHandoff create(final int parties) {
+            return new LockConditionHandoff(parties);
+        }
+    },
+
+    /** Volatile-ход, адаптивный spin, затем park/unpark. */
+    SPIN_PARK {
+        @Override
+        public TurnHandoff create(final int parties) {
+            return new SpinParkHandoff(parties);
+        }
+    },
+
+    /** Семафор на каждого участника. */
+    SEMAPHORE {
+        @Override
+        public TurnHandoff create(final int parties) {
+            return new SemaphoreHandoff(parties);
+        }
+    },
+
+    /** Volatile-ход, ожидание продвижения фазы Phaser. */
+    PHASER {
+        @Override
+        public TurnHandoff create(final int parties) {
+            return new PhaserHandoff(parties);
+        }
+    };
+
+    /**
+     * Создаёт новый независимый экземпляр передачи хода для пары Ping/Pong.
+     *
+     * @return передача хода
+     */
+    public TurnHandoff create() {
+        return create(2);
+    }
+
+    /**
+     * Создаёт новый независимый экземпляр передачи хода для кольца участников.
+     *
+     * @param parties число участников
+     * @return передача хода
+     */
+    public abstract TurnHandoff create(int parties);
+}
@@ -0,0 +1,152 @@
+package com.ms;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Лог-линейная гистограмма длительностей без блокировок и с фиксированным
+ * объёмом памяти.
+ *
+ * <p>Каждый интервал [2^k, 2^(k+1)) делится на 16 равных корзин, поэтому
+ * относительная погрешность перцентиля не превышает 1/16 (6,25%) во всём
+ * диапазоне long, а вся гистограмма занимает 960 счётчиков. Запись — один
+ * атомарный инкремент; максимум обновляется через CAS, только если значение
+ * его превышает.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Учитывает одно значение; отрицательные считаются нулём.
+     *
+     * @param value длительность, нс
+     */
+    public void record(final long value) {
+        final long clamped = Math.max(0, value);
+        counts.incrementAndGet(indexOf(clamped));
+        if (clamped > max.get()) {
+            max.accumulateAndGet(clamped, Math::max);
+        }
+    }
+
+    /**
+     * Обнуляет гистограмму. Значения, записанные одновременно со сбросом,
+     * могут как попасть в неё, так и потеряться.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        max.set(0);
+    }
+
+    /**
+     * Снимает копию счётчиков для согласованного расчёта перцентилей.
+     *
+     * @return снимок гистограммы
+     */
+    public Snapshot snapshot() {
+        final long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, max.get());
+    }
+
+    /**
+     * Номер корзины для значения.
+     *
+     * @param value неотрицательное значение
+     * @return номер корзины
+     */
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Наибольшее значение, попадающее в корзину.
+     *
+     * @param index номер корзины
+     * @return верхняя граница корзины
+     */
+    static long highestValueIn(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        final long lowest = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Неизменяемый снимок гистограммы.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long maxValue;
+
+        private Snapshot(final long[] counts, final long count, final long maxValue) {
+            this.counts = counts;
+            this.count = count;
+            this.maxValue = maxValue;
+        }
+
+        /**
+         * Возвращает число записанных значений.
+         *
+         * @return число значений
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Возвращает наибольшее записанное значение.
+         *
+         * @return максимум, нс
+         */
+        public long getMax() {
+            return maxValue;
+        }
+
+        /**
+         * Возвращает значение, не меньше которого доля {@code quantile} записей
+         * (с точностью до ширины корзины).
+         *
+         * @param quantile доля от 0 до 1, например 0.99
+         * @return перцентиль, нс; 0 для пустой гистограммы
+         */
+        public long percentile(final double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueIn(i), maxValue);
+                }
+            }
+            return maxValue;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d p50=%d p90=%d p99=%d p99.9=%d max=%d нс", count,
+                    percentile(0.5), percentile(0.9), percentile(0.99), percentile(0.999), maxValue);
+        }
+    }
+}
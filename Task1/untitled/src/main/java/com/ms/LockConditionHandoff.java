@@ -0,0 +1,119 @@
+package com.ms;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Передача хода через ReentrantLock и отдельный Condition для каждого участника.
+ *
+ * <p>Участник ждёт только на своём Condition, поэтому передача хода будит
+ * ровно один поток при любом числе участников.
+ * Блокировка удерживается только на время проверки и смены хода; работа
+ * участника между {@link #awaitTurn(int)} и {@link #passTurn(int)} идёт без неё.
+ *
+ * <p>С {@link HandoffRecorder} замеряются задержка от {@code signal()} до
+ * возврата разбуженного участника из {@code await()} и время удержания
+ * блокировки. Метка времени сигнала хранится под той же блокировкой; без
+ * регистратора System.nanoTime() не вызывается.
+ */
+public final class LockConditionHandoff implements TurnHandoff {
+    private static final long NOT_SIGNALLED = Long.MIN_VALUE;
+    private static final long NOT_ACQUIRED = Long.MIN_VALUE;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition[] conditions;
+    private final HandoffRecorder recorder;
+    private final long[] signalledAt;
+    private int turn = PING;
+
+    /**
+     * Создаёт передачу хода для пары Ping/Pong.
+     */
+    public LockConditionHandoff() {
+        this(2);
+    }
+
+    /**
+     * Создаёт передачу хода для кольца участников.
+     *
+     * @param parties число участников
+     */
+    public LockConditionHandoff(final int parties) {
+        this(parties, null);
+    }
+
+    /**
+     * Создаёт передачу хода с замерами.
+     *
+     * @param parties  число участников
+     * @param recorder регистратор замеров или null, если замеры не нужны
+     */
+    public LockConditionHandoff(final int parties, final HandoffRecorder recorder) {
+        conditions = new Condition[TurnHandoff.checkParties(parties)];
+        for (int i = 0; i < parties; i++) {
+            conditions[i] = lock.newCondition();
+        }
+        this.recorder = recorder;
+        this.signalledAt = new long[parties];
+        Arrays.fill(signalledAt, NOT_SIGNALLED);
+    }
+
+    @Override
+    public void awaitTurn(final int party) throws InterruptedException {
+        lock.lock();
+        long acquiredAt = now();
+        try {
+            while (turn != party) {
+                // Прерванный await() не должен попасть в замер удержания
+                acquiredAt = NOT_ACQUIRED;
+                conditions[party].await();
+                acquiredAt = now();
+                recordWakeup(party, acquiredAt);
+            }
+        } finally {
+            // Сигнал хода, переданного до вызова, не должен достаться
+            // следующему ложному пробуждению
+            signalledAt[party] = NOT_SIGNALLED;
+            recordLockHold(acquiredAt);
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void passTurn(final int party) {
+        lock.lock();
+        final long acquiredAt = now();
+        try {
+            turn = next(party);
+            signalledAt[turn] = acquiredAt;
+            conditions[turn].signal();
+        } finally {
+            recordLockHold(acquiredAt);
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int parties() {
+        return conditions.length;
+    }
+
+    private long now() {
+        return recorder == null ? 0 : System.nanoTime();
+    }
+
+    private void recordWakeup(final int party, final long wokenAt) {
+        // Ложное пробуждение или ход, переданный до await(), сигнала не имеют
+        if (recorder != null && signalledAt[party] != NOT_SIGNALLED) {
+            recorder.recordWakeup(wokenAt - signalledAt[party]);
+            signalledAt[party] = NOT_SIGNALLED;
+        }
+    }
+
+    private void recordLockHold(final long acquiredAt) {
+        if (recorder != null && acquiredAt != NOT_ACQUIRED) {
+            recorder.recordLockHold(System.nanoTime() - acquiredAt);
+        }
+    }
+}
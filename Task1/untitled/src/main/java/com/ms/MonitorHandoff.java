@@ -0,0 +1,53 @@
+package com.ms;
+
+/**
+ * Передача хода через монитор объекта (synchronized/wait/notify).
+ *
+ * <p>Все участники ждут на одном мониторе, поэтому каждая передача хода будит
+ * всех ожидающих (notifyAll), и при N участниках N - 2 из них просыпаются
+ * впустую. Вариант оставлен как базовый для сравнения.
+ * Монитор удерживается только на время проверки и смены хода.
+ */
+public final class MonitorHandoff implements TurnHandoff {
+    private final Object lock = new Object();
+    private final int partyCount;
+    private int turn = PING;
+
+    /**
+     * Создаёт передачу хода для пары Ping/Pong.
+     */
+    public MonitorHandoff() {
+        this(2);
+    }
+
+    /**
+     * Создаёт передачу хода для кольца участников.
+     *
+     * @param parties число участников
+     */
+    public MonitorHandoff(final int parties) {
+        this.partyCount = TurnHandoff.checkParties(parties);
+    }
+
+    @Override
+    public void awaitTurn(final int party) throws InterruptedException {
+        synchronized (lock) {
+            while (turn != party) {
+                lock.wait();
+            }
+        }
+    }
+
+    @Override
+    public void passTurn(final int party) {
+        synchronized (lock) {
+            turn = next(party);
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public int parties() {
+        return partyCount;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ms;
+
+/**
+ * Приёмник, отбрасывающий все данные, — для бенчмарков.
+ */
+public final class NullSink implements OutputSink {
+    /** Единственный экземпляр: состояния нет, поэтому его можно делить между парами. */
+    public static final NullSink INSTANCE = new NullSink();
+
+    private NullSink() {
+        // Используйте INSTANCE
+    }
+
+    @Override
+    public void write(final byte[] bytes) {
+        // Данные отбрасываются
+    }
+
+    @Override
+    public void flush() {
+        // Нечего выталкивать
+    }
+}
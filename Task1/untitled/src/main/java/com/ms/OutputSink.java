@@ -0,0 +1,23 @@
+package com.ms;
+
+/**
+ * Приёмник вывода участников Ping/Pong.
+ *
+ * <p>Реализации не потокобезопасны: в приёмник пишет только участник,
+ * которому принадлежит ход, а видимость записей между участниками
+ * обеспечивает {@link TurnHandoff}. Поэтому запись не требует блокировок
+ * и выполняется вне критической секции передачи хода.
+ */
+public interface OutputSink {
+    /**
+     * Записывает заранее закодированные байты.
+     *
+     * @param bytes данные; массив не копируется и не должен меняться
+     */
+    void write(byte[] bytes);
+
+    /**
+     * Выталкивает накопленные данные в нижележащий поток.
+     */
+    void flush();
+}
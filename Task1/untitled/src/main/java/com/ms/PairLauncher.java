@@ -0,0 +1,91 @@
+package com.ms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Одновременный запуск множества независимых пар Ping/Pong на заданном исполнителе.
+ *
+ * <p>Задачи пары блокируются в ожидании хода, поэтому исполнитель должен
+ * уметь держать одновременно по два потока на каждую пару; пул с меньшим
+ * максимумом потоков приведёт к взаимной блокировке и отклоняется сразу.
+ */
+public final class PairLauncher {
+    private static final int DEFAULT_PAIRS = 1000;
+    private static final int DEFAULT_ITERATIONS = 1000;
+
+    private final ExecutorService executor;
+
+    /**
+     * Создаёт запускатель.
+     *
+     * @param executor исполнитель задач Ping и Pong
+     */
+    public PairLauncher(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Запускает все пары одновременно и ждёт их завершения.
+     *
+     * @param pairs пары Ping/Pong
+     * @throws InterruptedException если вызывающий поток прерван
+     * @throws ExecutionException   если задача пары завершилась с ошибкой
+     */
+    public void run(final List<? extends PingPongPair> pairs) throws InterruptedException, ExecutionException {
+        checkCapacity(pairs.size());
+        final List<Future<?>> futures = new ArrayList<>(2 * pairs.size());
+        for (final PingPongPair pair : pairs) {
+            futures.add(executor.submit(pair.pingTask()));
+            futures.add(executor.submit(pair.pongTask()));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void checkCapacity(final int pairs) {
+        if (executor instanceof ThreadPoolExecutor
+                && ((ThreadPoolExecutor) executor).getMaximumPoolSize() < 2 * pairs) {
+            throw new IllegalArgumentException("Пул на " + ((ThreadPoolExecutor) executor).getMaximumPoolSize()
+                    + " потоков не вместит " + pairs + " пар: каждой паре нужны два потока одновременно");
+        }
+    }
+
+    /**
+     * Запускает N пар без вывода слов и печатает суммарную пропускную способность.
+     *
+     * @param args [число пар] [число раундов] [PLATFORM|VIRTUAL] [стратегия передачи хода]
+     * @throws Exception если запуск пар завершился с ошибкой
+     */
+    public static void main(final String[] args) throws Exception {
+        final int pairCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PAIRS;
+        final int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+        final ThreadMode mode = args.length > 2 ? ThreadMode.valueOf(args[2]) : ThreadMode.PLATFORM;
+        final HandoffStrategy strategy = args.length > 3 ? HandoffStrategy.valueOf(args[3]) : HandoffStrategy.SPIN_PARK;
+
+        final List<HandoffPair> pairs = new ArrayList<>(pairCount);
+        for (int i = 0; i < pairCount; i++) {
+            pairs.add(new HandoffPair(strategy.create(), iterations, NullSink.INSTANCE));
+        }
+
+        final ExecutorService executor = mode.newExecutor();
+        try {
+            final long start = System.nanoTime();
+            new PairLauncher(executor).run(pairs);
+            final long elapsed = System.nanoTime() - start;
+            final long handoffs = 2L * pairCount * iterations;
+            System.out.printf("Пар: %d, режим: %s, стратегия: %s, передач хода: %d, время: %d мс, передач/с: %.0f%n",
+                    pairCount, mode, strategy, handoffs, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    handoffs * 1e9 / elapsed);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.ms;
+
+import java.util.concurrent.Phaser;
+
+/**
+ * Передача хода через {@link Phaser} с одним зарегистрированным участником:
+ * каждая передача хода продвигает фазу и будит всех ожидающих.
+ *
+ * <p>Ход определяется самой фазой: k-й ход участника {@code i} — фаза
+ * {@code i + k * parties} (по модулю переполнения счётчика фаз). Каждый
+ * участник помнит фазу своего следующего хода, поэтому на каждый ход
+ * приходится ровно один awaitTurn и один passTurn. Следующий участник видит
+ * свой ход только после того, как продвижение фазы завершилось, и его
+ * arrive() не пересекается с arrive() предыдущего. Как и {@link MonitorHandoff},
+ * в кольце будит всех участников, а не только следующего.
+ */
+public final class PhaserHandoff implements TurnHandoff {
+    private static final int MAX_PHASE = Integer.MAX_VALUE;
+
+    private final Phaser phaser = new Phaser(1);
+    private final int[] nextPhase;
+
+    /**
+     * Создаёт передачу хода для пары Ping/Pong.
+     */
+    public PhaserHandoff() {
+        this(2);
+    }
+
+    /**
+     * Создаёт передачу хода для кольца участников.
+     *
+     * @param parties число участников
+     */
+    public PhaserHandoff(final int parties) {
+        nextPhase = new int[TurnHandoff.checkParties(parties)];
+        for (int i = 0; i < parties; i++) {
+            nextPhase[i] = i;
+        }
+    }
+
+    @Override
+    public void awaitTurn(final int party) throws InterruptedException {
+        final int target = nextPhase[party];
+        int phase = phaser.getPhase();
+        while (phase != target) {
+            phase = phaser.awaitAdvanceInterruptibly(phase);
+        }
+    }
+
+    @Override
+    public void passTurn(final int party) {
+        nextPhase[party] = (nextPhase[party] + nextPhase.length) & MAX_PHASE;
+        phaser.arrive();
+    }
+
+    @Override
+    public int parties() {
+        return nextPhase.length;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ms;
+
+/**
+ * Пример синхронизации потоков через монитор объекта (synchronized/wait/notify).
+ */
+public final class PingPong extends HandoffPair {
+    private static final int MAX_ITERATIONS = 5;
+
+    /**
+     * Создаёт пару с числом раундов по умолчанию и выводом каждого хода в System.out.
+     */
+    public PingPong() {
+        this(MAX_ITERATIONS, new StreamSink(System.out));
+    }
+
+    /**
+     * Создаёт пару.
+     *
+     * @param iterations число раундов
+     * @param sink       приёмник вывода слов
+     */
+    public PingPong(final int iterations, final OutputSink sink) {
+        super(new MonitorHandoff(), iterations, sink);
+    }
+
+    /**
+     * Основной метод приложения.
+     *
+     * @param args аргументы командной строки
+     */
+    public static void main(final String[] args) {
+        final PingPong game = new PingPong();
+        Thread pingThread = new Thread(game.pingTask());
+        Thread pongThread = new Thread(game.pongTask());
+
+        pingThread.start();
+        pongThread.start();
+
+        try {
+            pingThread.join();
+            pongThread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
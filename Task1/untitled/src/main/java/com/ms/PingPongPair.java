@@ -0,0 +1,23 @@
+package com.ms;
+
+/**
+ * Пара задач Ping/Pong, которые ходят строго по очереди.
+ *
+ * <p>Каждый экземпляр пары независим: у него своё состояние хода, поэтому
+ * в одной JVM одновременно может работать сколько угодно пар.
+ */
+public interface PingPongPair {
+    /**
+     * Создаёт задачу участника Ping этой пары.
+     *
+     * @return задача Ping
+     */
+    Runnable pingTask();
+
+    /**
+     * Создаёт задачу участника Pong этой пары.
+     *
+     * @return задача Pong
+     */
+    Runnable pongTask();
+}
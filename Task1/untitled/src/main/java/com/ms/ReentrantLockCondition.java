@@ -1,35 +1,52 @@
 package com.ms;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
-
 /**
  * Пример использования ReentrantLock и Condition для синхронизации потоков.
  */
-public final class ReentrantLockCondition {
-    private static final ReentrantLock LOCK = new ReentrantLock();
-    private static final Condition PING_CONDITION = LOCK.newCondition();
-    private static final Condition PONG_CONDITION = LOCK.newCondition();
-    private static boolean pingTurn = true;
+public final class ReentrantLockCondition extends HandoffPair {
     private static final int MAX_ITERATIONS = 5;
 
     /**
-     * Приватный конструктор для утилитного класса.
+     * Создаёт пару с числом раундов по умолчанию и выводом каждого хода в System.out.
+     */
+    public ReentrantLockCondition() {
+        this(MAX_ITERATIONS, new StreamSink(System.out));
+    }
+
+    /**
+     * Создаёт пару.
+     *
+     * @param iterations число раундов
+     * @param sink       приёмник вывода слов
      */
-    private ReentrantLockCondition() {
-        // Утилитный класс
+    public ReentrantLockCondition(final int iterations, final OutputSink sink) {
+        this(iterations, sink, null);
     }
 
     /**
-     * Основной метод приложения.
+     * Создаёт пару с замерами задержки пробуждения и удержания блокировки.
      *
-     * @param args аргументы командной строки
+     * @param iterations число раундов
+     * @param sink       приёмник вывода слов
+     * @param recorder   регистратор замеров или null
+     */
+    public ReentrantLockCondition(final int iterations, final OutputSink sink, final HandoffRecorder recorder) {
+        super(new LockConditionHandoff(TurnHandoff.MIN_PARTIES, recorder), iterations, sink);
+    }
+
+    /**
+     * Основной метод приложения. Замеры передачи хода доступны через JMX
+     * во время работы и печатаются в System.err по её завершении.
+     *
+     * @param args [число раундов]
      */
     public static void main(final String[] args) {
-        Thread pingThread = new Thread(new PingTask());
-        Thread pongThread = new Thread(new PongTask());
+        final HandoffRecorder recorder = new HandoffRecorder();
+        recorder.register(ReentrantLockCondition.class.getSimpleName());
+        final ReentrantLockCondition game = new ReentrantLockCondition(
+                args.length > 0 ? Integer.parseInt(args[0]) : MAX_ITERATIONS, new StreamSink(System.out), recorder);
+        Thread pingThread = new Thread(game.pingTask());
+        Thread pongThread = new Thread(game.pongTask());
 
         pingThread.start();
         pongThread.start();
@@ -40,6 +57,7 @@ public final class ReentrantLockCondition {
         } catch (final InterruptedException e) {
             Thread.currentThread().interrupt();
         } // jacocoIgnore
+        System.err.println(recorder.getReport());
 
         // PMD: создание бесполезного объекта
 //        new String("Hello PMD");
@@ -71,62 +89,4 @@ public final class ReentrantLockCondition {
 //            Math.sqrt(System.nanoTime()); // постоянная нагрузка
 //        }
     }
-
-    // Обычный доступ к вложенному классу
-    static class PingTask implements Runnable {
-        @Override
-        public void run() {
-            for (int i = 0; i < MAX_ITERATIONS; i++) {
-                LOCK.lock();
-                try {
-                    while (!pingTurn) {
-                        PING_CONDITION.await();
-                    }
-
-                    // Use System.out for demonstration purposes
-                    System.out.print("Ping");
-                    if (i < MAX_ITERATIONS - 1) {
-                        System.out.print(" ");
-                    }
-
-                    pingTurn = false;
-                    PONG_CONDITION.signal();
-                } catch (final InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return;
-                } finally {
-                    LOCK.unlock();
-                }
-            }
-        }
-    }
-
-    // Обычный доступ к вложенному классу
-    static class PongTask implements Runnable {
-        @Override
-        public void run() {
-            for (int i = 0; i < MAX_ITERATIONS; i++) {
-                LOCK.lock();
-                try {
-                    while (pingTurn) {
-                        PONG_CONDITION.await();
-                    }
-
-                    // Use System.out for demonstration purposes
-                    System.out.print("Pong");
-                    if (i < MAX_ITERATIONS - 1) {
-                        System.out.print(" ");
-                    }
-
-                    pingTurn = true;
-                    PING_CONDITION.signal();
-                } catch (final InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return;
-                } finally {
-                    LOCK.unlock();
-                }
-            }
-        }
-    }
 }
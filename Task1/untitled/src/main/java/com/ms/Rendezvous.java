@@ -0,0 +1,26 @@
+package com.ms;
+
+/**
+ * Точка встречи двух потоков: в отличие от {@link TurnHandoff}, передающий
+ * ход ждёт, пока партнёр его примет.
+ *
+ * <p>Ход в паре Ping/Pong передаётся так: автор слова вызывает
+ * {@link #handOver()}, партнёр — {@link #awaitHandOver()}; оба вызова
+ * завершаются только вместе, и всё, что автор сделал до встречи, видно
+ * партнёру после неё.
+ */
+public interface Rendezvous {
+    /**
+     * Передаёт ход партнёру и ждёт, пока он его примет.
+     *
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    void handOver() throws InterruptedException;
+
+    /**
+     * Ждёт, пока партнёр передаст ход.
+     *
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    void awaitHandOver() throws InterruptedException;
+}
@@ -0,0 +1,70 @@
+package com.ms;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Пара Ping/Pong поверх собственного экземпляра {@link Rendezvous}.
+ *
+ * <p>За раунд две встречи: после слова Ping ход уходит к Pong, после слова
+ * Pong — обратно. Число встреч у обоих участников одинаковое, поэтому
+ * последняя передача хода всегда находит партнёра. Вывод совпадает с
+ * {@link HandoffPair}: слова через пробел, Pong выталкивает приёмник в конце.
+ */
+public final class RendezvousPair implements PingPongPair {
+    private static final byte[] SEPARATOR = {' '};
+    private static final byte[] PING_WORD = "Ping".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PONG_WORD = "Pong".getBytes(StandardCharsets.UTF_8);
+
+    private final Rendezvous rendezvous;
+    private final int iterations;
+    private final OutputSink sink;
+
+    /**
+     * Создаёт пару.
+     *
+     * @param rendezvous точка встречи двух участников
+     * @param iterations число раундов
+     * @param sink       приёмник вывода слов
+     */
+    public RendezvousPair(final Rendezvous rendezvous, final int iterations, final OutputSink sink) {
+        this.rendezvous = rendezvous;
+        this.iterations = iterations;
+        this.sink = sink;
+    }
+
+    @Override
+    public Runnable pingTask() {
+        return () -> {
+            try {
+                for (int i = 0; i < iterations; i++) {
+                    sink.write(PING_WORD);
+                    sink.write(SEPARATOR);
+                    rendezvous.handOver();
+                    rendezvous.awaitHandOver();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    @Override
+    public Runnable pongTask() {
+        return () -> {
+            try {
+                for (int i = 0; i < iterations; i++) {
+                    rendezvous.awaitHandOver();
+                    sink.write(PONG_WORD);
+                    if (i < iterations - 1) {
+                        sink.write(SEPARATOR);
+                    }
+                    rendezvous.handOver();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            sink.flush();
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.ms;
+
+/**
+ * Доступные реализации {@link Rendezvous} — для бенчмарков и тестов.
+ */
+public enum RendezvousStrategy {
+    /** Exchanger. */
+    EXCHANGER {
+        @Override
+        public Rendezvous create() {
+            return new ExchangerRendezvous();
+        }
+    },
+
+    /** SynchronousQueue. */
+    SYNCHRONOUS_QUEUE {
+        @Override
+        public Rendezvous create() {
+            return new SynchronousQueueRendezvous();
+        }
+    };
+
+    /**
+     * Создаёт новую независимую точку встречи для пары Ping/Pong.
+     *
+     * @return точка встречи
+     */
+    public abstract Rendezvous create();
+}
@@ -0,0 +1,89 @@
+package com.ms;
+
+/**
+ * Кольцевой буфер для одного производителя и одного потребителя в стиле
+ * Disruptor.
+ *
+ * <p>В отличие от {@link TurnHandoff}, стороны не ходят по очереди:
+ * производитель публикует значения, пока в буфере есть место, а потребитель
+ * забирает всё, что опубликовано. На горячем пути нет блокировок и CAS —
+ * только упорядоченная запись своей последовательности и чтение чужой, причём
+ * чужая перечитывается, лишь когда запомненного значения недостаточно.
+ *
+ * <p>{@link #publish(long)} вызывается только одним потоком, {@link #take()} —
+ * только другим.
+ */
+public final class RingBufferHandoff {
+    /** Ёмкость по умолчанию. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final long[] slots;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final Sequence published = new Sequence();
+    private final Sequence consumed = new Sequence();
+
+    /**
+     * Создаёт буфер ёмкости по умолчанию.
+     *
+     * @param waitStrategy способ ожидания партнёра
+     */
+    public RingBufferHandoff(final WaitStrategy waitStrategy) {
+        this(DEFAULT_CAPACITY, waitStrategy);
+    }
+
+    /**
+     * Создаёт буфер.
+     *
+     * @param capacity     ёмкость, степень двойки
+     * @param waitStrategy способ ожидания партнёра
+     */
+    public RingBufferHandoff(final int capacity, final WaitStrategy waitStrategy) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ёмкость должна быть степенью двойки: " + capacity);
+        }
+        this.slots = new long[capacity];
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Публикует значение, дожидаясь свободного места.
+     *
+     * @param value значение
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    public void publish(final long value) throws InterruptedException {
+        final long next = published.getOwn() + 1;
+        final long wrapPoint = next - slots.length;
+        if (wrapPoint > published.getCached()) {
+            long seen = consumed.get();
+            for (int attempt = 0; wrapPoint > seen; seen = consumed.get()) {
+                attempt = waitStrategy.idle(attempt);
+            }
+            published.setCached(seen);
+        }
+        slots[(int) next & mask] = value;
+        published.publish(next);
+    }
+
+    /**
+     * Забирает следующее значение, дожидаясь его публикации.
+     *
+     * @return значение
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    public long take() throws InterruptedException {
+        final long next = consumed.getOwn() + 1;
+        if (next > consumed.getCached()) {
+            long seen = published.get();
+            for (int attempt = 0; next > seen; seen = published.get()) {
+                attempt = waitStrategy.idle(attempt);
+            }
+            consumed.setCached(seen);
+        }
+        final long value = slots[(int) next & mask];
+        consumed.publish(next);
+        return value;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ms;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Конвейерный обмен через {@link RingBufferHandoff}: Ping публикует номера
+ * последовательности, Pong забирает их, не дожидаясь очереди хода.
+ *
+ * <p>Служит для сравнения со строгим чередованием {@link ReentrantLockCondition}
+ * и {@link BatchedPingPong}: производитель может опережать потребителя на
+ * ёмкость буфера.
+ */
+public final class RingBufferPingPong implements PingPongPair {
+    private static final int DEFAULT_ITEMS = 10_000_000;
+
+    private final RingBufferHandoff ring;
+    private final long totalItems;
+    private final LongConsumer consumer;
+
+    /**
+     * Создаёт пару.
+     *
+     * @param ring       кольцевой буфер
+     * @param totalItems общее число элементов
+     * @param consumer   обработчик элементов на стороне Pong
+     */
+    public RingBufferPingPong(final RingBufferHandoff ring, final long totalItems, final LongConsumer consumer) {
+        this.ring = ring;
+        this.totalItems = totalItems;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public Runnable pingTask() {
+        return () -> {
+            try {
+                for (long i = 0; i < totalItems; i++) {
+                    ring.publish(i);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    @Override
+    public Runnable pongTask() {
+        return () -> {
+            try {
+                for (long i = 0; i < totalItems; i++) {
+                    consumer.accept(ring.take());
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    /**
+     * Прогоняет пару с каждой стратегией ожидания и печатает пропускную способность.
+     *
+     * @param args [число элементов] [стратегии ожидания через запятую]
+     * @throws InterruptedException если основной поток прерван
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        final long total = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_ITEMS;
+        final String strategies = args.length > 1 ? args[1] : "BUSY_SPIN,YIELD,PARK";
+        for (final String name : strategies.split(",")) {
+            final WaitStrategy waitStrategy = WaitStrategy.valueOf(name.trim());
+            final long[] checksum = new long[1];
+            final RingBufferPingPong pair = new RingBufferPingPong(new RingBufferHandoff(waitStrategy), total,
+                    item -> checksum[0] += item);
+
+            final Thread ping = new Thread(pair.pingTask());
+            final Thread pong = new Thread(pair.pongTask());
+            final long start = System.nanoTime();
+            ping.start();
+            pong.start();
+            ping.join();
+            pong.join();
+            final long elapsed = System.nanoTime() - start;
+
+            System.out.printf("%s: элементов %d, элементов/с %.0f, сумма %d%n",
+                    waitStrategy, total, total * 1e9 / elapsed, checksum[0]);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ms;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Передача хода через отдельный семафор для каждого участника.
+ *
+ * <p>Разрешение есть только у семафора того, чей сейчас ход: участник
+ * забирает его в {@link #awaitTurn(int)} и выдаёт следующему в
+ * {@link #passTurn(int)}. Поэтому каждый ход начинается ровно с одного
+ * awaitTurn и заканчивается ровно одним passTurn.
+ */
+public final class SemaphoreHandoff implements TurnHandoff {
+    private final Semaphore[] permits;
+
+    /**
+     * Создаёт передачу хода для пары Ping/Pong.
+     */
+    public SemaphoreHandoff() {
+        this(2);
+    }
+
+    /**
+     * Создаёт передачу хода для кольца участников.
+     *
+     * @param parties число участников
+     */
+    public SemaphoreHandoff(final int parties) {
+        permits = new Semaphore[TurnHandoff.checkParties(parties)];
+        for (int i = 0; i < parties; i++) {
+            permits[i] = new Semaphore(i == PING ? 1 : 0);
+        }
+    }
+
+    @Override
+    public void awaitTurn(final int party) throws InterruptedException {
+        permits[party].acquire();
+    }
+
+    @Override
+    public void passTurn(final int party) {
+        permits[next(party)].release();
+    }
+
+    @Override
+    public int parties() {
+        return permits.length;
+    }
+}
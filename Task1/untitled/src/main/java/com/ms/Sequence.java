@@ -0,0 +1,74 @@
+package com.ms;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Счётчик последовательности, занимающий отдельную кэш-линию.
+ *
+ * <p>Значение окружено 56 байтами пустых ячеек с каждой стороны, чтобы
+ * последовательности производителя и потребителя не попадали в одну кэш-линию
+ * (false sharing). Рядом со значением владелец хранит последнее увиденное
+ * значение последовательности партнёра: его пишет только владелец, а
+ * обновляется оно редко, поэтому лишнего трафика между ядрами не создаёт.
+ */
+final class Sequence {
+    private static final int PADDING = 7;
+    private static final int VALUE = PADDING;
+    private static final int CACHED = PADDING + 1;
+
+    private final AtomicLongArray cells = new AtomicLongArray(CACHED + 1 + PADDING);
+
+    /**
+     * Создаёт последовательность со значением -1 (ничего не опубликовано).
+     */
+    Sequence() {
+        cells.set(VALUE, -1);
+        cells.set(CACHED, -1);
+    }
+
+    /**
+     * Читает значение, опубликованное другим потоком.
+     *
+     * @return текущее значение
+     */
+    long get() {
+        return cells.get(VALUE);
+    }
+
+    /**
+     * Читает значение в потоке-владельце.
+     *
+     * @return текущее значение
+     */
+    long getOwn() {
+        return cells.getPlain(VALUE);
+    }
+
+    /**
+     * Публикует новое значение: предшествующие записи станут видны тому,
+     * кто прочитает его через {@link #get()}.
+     *
+     * @param value новое значение
+     */
+    void publish(final long value) {
+        cells.lazySet(VALUE, value);
+    }
+
+    /**
+     * Возвращает запомненное владельцем значение последовательности партнёра.
+     *
+     * @return запомненное значение
+     */
+    long getCached() {
+        return cells.getPlain(CACHED);
+    }
+
+    /**
+     * Запоминает увиденное значение последовательности партнёра.
+     *
+     * @param value увиденное значение
+     */
+    void setCached(final long value) {
+        cells.setPlain(CACHED, value);
+    }
+}
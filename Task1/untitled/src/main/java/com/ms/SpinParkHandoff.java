@@ -0,0 +1,109 @@
+package com.ms;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Передача хода без блокировок: volatile-поле хода, ограниченное ожидание
+ * в цикле (spin) и затем парковка через {@link LockSupport}.
+ *
+ * <p>Длина spin-фазы адаптивна для каждого участника: если ход приходит во
+ * время spin, лимит удваивается, если приходится парковаться — уменьшается
+ * вдвое. Так быстрый партнёр обслуживается за доли микросекунды, а медленный
+ * не заставляет впустую жечь процессор. На одноядерной машине spin отключён.
+ *
+ * <p>У каждого участника свой слот парковки, поэтому передача хода будит
+ * ровно один поток при любом числе участников.
+ */
+public final class SpinParkHandoff implements TurnHandoff {
+    private static final int MIN_SPINS = 16;
+    private static final int DEFAULT_MAX_SPINS = 1 << 14;
+
+    private final int maxSpins;
+    private final int[] spinLimits;
+    private final AtomicReferenceArray<Thread> waiters;
+    private volatile int turn = PING;
+
+    /**
+     * Создаёт передачу хода для пары Ping/Pong с лимитом spin по умолчанию.
+     */
+    public SpinParkHandoff() {
+        this(2);
+    }
+
+    /**
+     * Создаёт передачу хода для кольца участников с лимитом spin по умолчанию.
+     *
+     * @param parties число участников
+     */
+    public SpinParkHandoff(final int parties) {
+        this(parties, Runtime.getRuntime().availableProcessors() > 1 ? DEFAULT_MAX_SPINS : 0);
+    }
+
+    /**
+     * Создаёт передачу хода с заданным максимальным числом итераций spin.
+     *
+     * @param parties  число участников
+     * @param maxSpins максимум итераций spin перед парковкой (0 — сразу парковаться)
+     */
+    public SpinParkHandoff(final int parties, final int maxSpins) {
+        TurnHandoff.checkParties(parties);
+        if (maxSpins < 0) {
+            throw new IllegalArgumentException("maxSpins не может быть отрицательным: " + maxSpins);
+        }
+        this.maxSpins = maxSpins;
+        this.spinLimits = new int[parties];
+        this.waiters = new AtomicReferenceArray<>(parties);
+        for (int i = 0; i < parties; i++) {
+            spinLimits[i] = Math.min(MIN_SPINS, maxSpins);
+        }
+    }
+
+    @Override
+    public void awaitTurn(final int party) throws InterruptedException {
+        if (turn == party || spinForTurn(party)) {
+            return;
+        }
+        waiters.set(party, Thread.currentThread());
+        try {
+            // Запись в waiters и чтение turn упорядочены: passTurn либо увидит
+            // нас в waiters, либо мы увидим новый ход до парковки.
+            while (turn != party) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waiters.set(party, null);
+        }
+    }
+
+    @Override
+    public void passTurn(final int party) {
+        final int next = next(party);
+        turn = next;
+        final Thread waiter = waiters.get(next);
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    @Override
+    public int parties() {
+        return spinLimits.length;
+    }
+
+    private boolean spinForTurn(final int party) {
+        final int limit = spinLimits[party];
+        for (int i = 0; i < limit; i++) {
+            Thread.onSpinWait();
+            if (turn == party) {
+                spinLimits[party] = Math.min(limit * 2, maxSpins);
+                return true;
+            }
+        }
+        spinLimits[party] = Math.min(Math.max(limit / 2, MIN_SPINS), maxSpins);
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ms;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Приёмник без буфера: каждая запись сразу уходит в поток и выталкивается.
+ *
+ * <p>Подходит для демонстрационного вывода, где каждый ход должен быть
+ * виден сразу; под нагрузкой следует использовать {@link BufferedSink}.
+ */
+public final class StreamSink implements OutputSink {
+    private final OutputStream out;
+
+    /**
+     * Создаёт приёмник.
+     *
+     * @param out нижележащий поток
+     */
+    public StreamSink(final OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(final byte[] bytes) {
+        try {
+            out.write(bytes);
+            out.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            out.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ms;
+
+import java.util.concurrent.SynchronousQueue;
+
+/**
+ * Встреча через {@link SynchronousQueue}: передающий кладёт маркер и ждёт,
+ * пока партнёр его заберёт.
+ */
+public final class SynchronousQueueRendezvous implements Rendezvous {
+    private static final Object TOKEN = new Object();
+
+    private final SynchronousQueue<Object> queue = new SynchronousQueue<>();
+
+    @Override
+    public void handOver() throws InterruptedException {
+        queue.put(TOKEN);
+    }
+
+    @Override
+    public void awaitHandOver() throws InterruptedException {
+        queue.take();
+    }
+}
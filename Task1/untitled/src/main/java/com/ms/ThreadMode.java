@@ -0,0 +1,100 @@
+package com.ms;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Тип потоков, на которых запускаются задачи Ping/Pong.
+ *
+ * <p>Проект собирается под Java 11, поэтому виртуальные потоки (Java 21+)
+ * создаются через рефлексию и доступны только на подходящей JVM.
+ */
+public enum ThreadMode {
+    /** Обычные потоки платформы. */
+    PLATFORM {
+        @Override
+        public boolean isSupported() {
+            return true;
+        }
+
+        @Override
+        public Thread newThread(final Runnable task) {
+            return new Thread(task);
+        }
+
+        @Override
+        public ExecutorService newExecutor() {
+            return Executors.newCachedThreadPool();
+        }
+    },
+
+    /** Виртуальные потоки (Thread.ofVirtual()). */
+    VIRTUAL {
+        @Override
+        public boolean isSupported() {
+            return VIRTUAL_FACTORY != null;
+        }
+
+        @Override
+        public Thread newThread(final Runnable task) {
+            if (VIRTUAL_FACTORY == null) {
+                throw new UnsupportedOperationException("Виртуальные потоки требуют Java 21+");
+            }
+            return VIRTUAL_FACTORY.newThread(task);
+        }
+
+        @Override
+        public ExecutorService newExecutor() {
+            if (VIRTUAL_FACTORY == null) {
+                throw new UnsupportedOperationException("Виртуальные потоки требуют Java 21+");
+            }
+            try {
+                return (ExecutorService) Executors.class
+                        .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, VIRTUAL_FACTORY);
+            } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Не удалось создать исполнитель виртуальных потоков", e);
+            }
+        }
+    };
+
+    private static final ThreadFactory VIRTUAL_FACTORY = lookupVirtualFactory();
+
+    /**
+     * Проверяет, можно ли создавать потоки этого типа на текущей JVM.
+     *
+     * @return true, если режим поддерживается
+     */
+    public abstract boolean isSupported();
+
+    /**
+     * Создаёт незапущенный поток для задачи.
+     *
+     * @param task задача потока
+     * @return новый поток
+     */
+    public abstract Thread newThread(Runnable task);
+
+    /**
+     * Создаёт исполнитель, который запускает каждую задачу в отдельном потоке
+     * этого типа без ограничения их числа.
+     *
+     * @return новый исполнитель
+     */
+    public abstract ExecutorService newExecutor();
+
+    private static ThreadFactory lookupVirtualFactory() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Object builder = ofVirtual.invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (final NoSuchMethodException | ClassNotFoundException
+                | IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ms;
+
+/**
+ * Передача маркера по кольцу из N участников (стадии конвейера).
+ *
+ * <p>Обобщение пары Ping/Pong: каждая стадия ждёт только своего хода и
+ * будится ровно одним сигналом от предыдущей стадии.
+ */
+public final class TokenRing {
+    private static final int DEFAULT_PARTIES = 4;
+    private static final int DEFAULT_LAPS = 3;
+
+    /**
+     * Приватный конструктор для утилитного класса.
+     */
+    private TokenRing() {
+        // Утилитный класс
+    }
+
+    /**
+     * Основной метод приложения.
+     *
+     * @param args [число участников] [число кругов]
+     */
+    public static void main(final String[] args) {
+        final int parties = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PARTIES;
+        final int laps = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_LAPS;
+        try {
+            run(new LockConditionHandoff(parties), laps);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Запускает по потоку на каждого участника и ждёт завершения всех кругов.
+     *
+     * @param handoff передача хода по кольцу
+     * @param laps    число кругов
+     * @throws InterruptedException если вызывающий поток прерван
+     */
+    static void run(final TurnHandoff handoff, final int laps) throws InterruptedException {
+        final OutputSink sink = new BufferedSink(System.out);
+        final Thread[] threads = new Thread[handoff.parties()];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new TurnTask(handoff, i, "Stage-" + i, laps, sink));
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ms;
+
+/**
+ * Передача хода по кольцу между участниками, которые работают строго по очереди.
+ *
+ * <p>Участники пронумерованы от 0 до {@link #parties()} - 1 и ходят по кругу:
+ * после участника {@code i} ходит {@code (i + 1) % parties()}. Участник вызывает
+ * {@link #awaitTurn(int)}, выполняет свою работу и обязательно вызывает
+ * {@link #passTurn(int)}. Между этими вызовами ход принадлежит только ему,
+ * а всё, что записали предыдущие участники до передачи хода, ему видно;
+ * блокировки на это время реализации не удерживают.
+ */
+public interface TurnHandoff {
+    /** Номер участника Ping (ходит первым). */
+    int PING = 0;
+    /** Номер участника Pong. */
+    int PONG = 1;
+    /** Минимальное число участников кольца. */
+    int MIN_PARTIES = 2;
+
+    /**
+     * Ожидает хода участника.
+     *
+     * @param party номер участника
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    void awaitTurn(int party) throws InterruptedException;
+
+    /**
+     * Передаёт ход следующему участнику кольца.
+     *
+     * @param party номер участника, завершившего ход
+     */
+    void passTurn(int party);
+
+    /**
+     * Возвращает число участников кольца.
+     *
+     * @return число участников
+     */
+    int parties();
+
+    /**
+     * Возвращает номер участника, который ходит после заданного.
+     *
+     * @param party номер участника
+     * @return номер следующего участника
+     */
+    default int next(final int party) {
+        final int next = party + 1;
+        return next == parties() ? 0 : next;
+    }
+
+    /**
+     * Проверяет число участников кольца.
+     *
+     * @param parties число участников
+     * @return то же число, если оно не меньше двух
+     */
+    static int checkParties(final int parties) {
+        if (parties < MIN_PARTIES) {
+            throw new IllegalArgumentException("В кольце должно быть минимум 2 участника: " + parties);
+        }
+        return parties;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ms;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Задача участника, который по очереди с партнёрами печатает своё слово.
+ *
+ * <p>Слова разделяются пробелом; после последнего слова последнего участника
+ * кольца пробел не печатается. Слово кодируется один раз при создании задачи,
+ * поэтому ход не выделяет память, а запись в приёмник идёт вне критической
+ * секции передачи хода. Последний участник кольца выталкивает приёмник,
+ * когда все ходы сделаны.
+ */
+class TurnTask implements Runnable {
+    private static final byte[] SEPARATOR = {' '};
+
+    private final TurnHandoff handoff;
+    private final int party;
+    private final byte[] word;
+    private final int iterations;
+    private final OutputSink sink;
+
+    /**
+     * Создаёт задачу участника.
+     *
+     * @param handoff    общая передача хода
+     * @param party      номер участника
+     * @param word       слово, печатаемое за ход
+     * @param iterations число ходов
+     * @param sink       приёмник вывода слов
+     */
+    TurnTask(final TurnHandoff handoff, final int party, final String word,
+             final int iterations, final OutputSink sink) {
+        this.handoff = handoff;
+        this.party = party;
+        this.word = word.getBytes(StandardCharsets.UTF_8);
+        this.iterations = iterations;
+        this.sink = sink;
+    }
+
+    @Override
+    public void run() {
+        final boolean lastParty = party == handoff.parties() - 1;
+        for (int i = 0; i < iterations; i++) {
+            try {
+                handoff.awaitTurn(party);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            try {
+                sink.write(word);
+                if (!lastParty || i < iterations - 1) {
+                    sink.write(SEPARATOR);
+                }
+            } finally {
+                handoff.passTurn(party);
+            }
+        }
+        if (lastParty) {
+            sink.flush();
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.ms;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Нагрузочный прогон большого числа пар Ping/Pong на виртуальных потоках.
+ *
+ * <p>Закрепление потока-носителя (pinning) обнаруживается двумя способами:
+ * <ul>
+ *   <li>JFR-событие {@code jdk.VirtualThreadPinned} (порог 0) — park внутри
+ *       synchronized; отчёт показывает число событий и места, где они возникли;</li>
+ *   <li>рост числа потоков платформы сверх parallelism планировщика — так
+ *       Java 21 компенсирует Object.wait(), который закрепляет носитель, но
+ *       JFR-события не порождает.</li>
+ * </ul>
+ * Ожидание на ReentrantLock/Condition и park освобождает носитель, поэтому
+ * для них оба показателя должны быть нулевыми. Если пары не укладываются в
+ * отведённое время (носители исчерпаны закреплёнными потоками), прогон
+ * прерывается и помечается как незавершённый.
+ *
+ * <p>Для сравнения тот же прогон можно выполнить в режиме PLATFORM с меньшим
+ * числом пар: в отчёте есть прирост кучи, RSS процесса и пиковое число потоков.
+ */
+public final class VirtualThreadStress {
+    /** Имя JFR-события о закреплении потока-носителя (Java 21+). */
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int DEFAULT_PAIRS = 100_000;
+    private static final int DEFAULT_ITERATIONS = 10;
+    private static final int DEFAULT_TIMEOUT_SECONDS = 60;
+    private static final int TOP_FRAMES = 3;
+    private static final long KB = 1024;
+
+    /**
+     * Приватный конструктор для утилитного класса.
+     */
+    private VirtualThreadStress() {
+        // Утилитный класс
+    }
+
+    /**
+     * Итог одного прогона.
+     */
+    static final class Report {
+        private final HandoffStrategy strategy;
+        private final ThreadMode mode;
+        private final int pairs;
+        private final int iterations;
+        private final boolean completed;
+        private final long elapsedNanos;
+        private final long pinnedEvents;
+        private final String pinnedFrames;
+        private final long heapDeltaBytes;
+        private final long rssKb;
+        private final int peakPlatformThreads;
+        private final int extraCarriers;
+
+        Report(final Run run, final boolean completed, final long elapsedNanos,
+               final long pinnedEvents, final String pinnedFrames) {
+            this.strategy = run.strategy;
+            this.mode = run.mode;
+            this.pairs = run.pairs;
+            this.iterations = run.iterations;
+            this.completed = completed;
+            this.elapsedNanos = elapsedNanos;
+            this.pinnedEvents = pinnedEvents;
+            this.pinnedFrames = pinnedFrames;
+            this.heapDeltaBytes = run.heapDeltaBytes;
+            this.rssKb = run.rssKb;
+            this.peakPlatformThreads = run.peakPlatformThreads;
+            this.extraCarriers = run.extraCarriers;
+        }
+
+        boolean isCompleted() {
+            return completed;
+        }
+
+        long getPinnedEvents() {
+            return pinnedEvents;
+        }
+
+        boolean isCarrierPinned() {
+            return pinnedEvents > 0 || extraCarriers > 0;
+        }
+
+        @Override
+        public String toString() {
+            final long handoffs = 2L * pairs * iterations;
+            return String.format("%s/%s: пар %d, %s за %d мс, передач/с %.0f, закреплений носителя %d%s,"
+                            + " носителей сверх parallelism %d%s,"
+                            + " прирост кучи %d КБ (%d Б на пару), RSS %s, пик потоков платформы %d",
+                    strategy, mode, pairs, completed ? "завершено" : "НЕ ЗАВЕРШЕНО",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    completed ? handoffs * 1e9 / elapsedNanos : 0.0,
+                    pinnedEvents, pinnedFrames.isEmpty() ? "" : " " + pinnedFrames,
+                    extraCarriers, isCarrierPinned() ? " — НОСИТЕЛЬ ЗАКРЕПЛЯЛСЯ" : "",
+                    heapDeltaBytes / KB, heapDeltaBytes / pairs,
+                    rssKb < 0 ? "н/д" : rssKb + " КБ", peakPlatformThreads);
+        }
+    }
+
+    /**
+     * Параметры и замеры прогона, собираемые до его завершения.
+     */
+    private static final class Run {
+        private final HandoffStrategy strategy;
+        private final ThreadMode mode;
+        private final int pairs;
+        private final int iterations;
+        private long heapDeltaBytes;
+        private long rssKb;
+        private int peakPlatformThreads;
+        private int extraCarriers;
+
+        Run(final HandoffStrategy strategy, final ThreadMode mode, final int pairs, final int iterations) {
+            this.strategy = strategy;
+            this.mode = mode;
+            this.pairs = pairs;
+            this.iterations = iterations;
+        }
+    }
+
+    /**
+     * Запускает прогоны для перечисленных стратегий и печатает отчёты.
+     *
+     * @param args [число пар] [число раундов] [VIRTUAL|PLATFORM] [стратегии через запятую] [таймаут, с]
+     * @throws Exception если прогон завершился с ошибкой
+     */
+    public static void main(final String[] args) throws Exception {
+        final int pairs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PAIRS;
+        final int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+        final ThreadMode mode = args.length > 2 ? ThreadMode.valueOf(args[2]) : ThreadMode.VIRTUAL;
+        final String strategies = args.length > 3 ? args[3] : "LOCK_CONDITION,SPIN_PARK,MONITOR";
+        final Duration timeout = Duration.ofSeconds(args.length > 4
+                ? Long.parseLong(args[4]) : DEFAULT_TIMEOUT_SECONDS);
+
+        if (!mode.isSupported()) {
+            System.err.println("Режим " + mode + " требует Java 21+, текущая JVM: "
+                    + System.getProperty("java.version"));
+            return;
+        }
+        for (final String name : strategies.split(",")) {
+            System.out.println(run(HandoffStrategy.valueOf(name.trim()), mode, pairs, iterations, timeout));
+        }
+    }
+
+    /**
+     * Выполняет один прогон с записью событий закрепления носителя.
+     *
+     * @param strategy   реализация передачи хода
+     * @param mode       тип потоков
+     * @param pairs      число одновременно работающих пар
+     * @param iterations число раундов в каждой паре
+     * @param timeout    максимальное время прогона
+     * @return отчёт о прогоне
+     * @throws IOException          если не удалось сохранить JFR-запись
+     * @throws InterruptedException если вызывающий поток прерван
+     */
+    static Report run(final HandoffStrategy strategy, final ThreadMode mode, final int pairs,
+                      final int iterations, final Duration timeout) throws IOException, InterruptedException {
+        final Run run = new Run(strategy, mode, pairs, iterations);
+        final Path jfrFile = Files.createTempFile("pinning-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            final long start = System.nanoTime();
+            final boolean completed = execute(run, timeout);
+            final long elapsed = System.nanoTime() - start;
+
+            recording.stop();
+            recording.dump(jfrFile);
+            final HashMap<String, Long> frames = new HashMap<>();
+            final long pinned = countPinned(jfrFile, frames);
+            return new Report(run, completed, elapsed, pinned, topFrames(frames));
+        } finally {
+            Files.deleteIfExists(jfrFile);
+        }
+    }
+
+    // Сборка мусора перед замером нужна, чтобы прирост кучи относился к потокам пар
+    @SuppressWarnings("PMD.DoNotCallGarbageCollectionExplicitly")
+    private static boolean execute(final Run run, final Duration timeout) throws InterruptedException {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        final long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        final int threadsBefore = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        final CountDownLatch done = new CountDownLatch(2 * run.pairs);
+        final ExecutorService executor = run.mode.newExecutor();
+        try {
+            for (int i = 0; i < run.pairs; i++) {
+                final HandoffPair pair = new HandoffPair(run.strategy.create(), run.iterations,
+                        NullSink.INSTANCE);
+                executor.execute(countingDown(pair.pingTask(), done));
+                executor.execute(countingDown(pair.pongTask(), done));
+            }
+            // Все пары запущены: замеряем память в момент наибольшего числа живых потоков
+            run.heapDeltaBytes = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+            run.rssKb = residentSetKb();
+
+            return done.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            run.peakPlatformThreads = threads.getPeakThreadCount();
+            if (run.mode == ThreadMode.VIRTUAL) {
+                run.extraCarriers = Math.max(0, run.peakPlatformThreads - threadsBefore - schedulerParallelism());
+            }
+            executor.shutdownNow();
+            executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Runnable countingDown(final Runnable task, final CountDownLatch done) {
+        return () -> {
+            try {
+                task.run();
+            } finally {
+                done.countDown();
+            }
+        };
+    }
+
+    private static long countPinned(final Path jfrFile, final Map<String, Long> frames) throws IOException {
+        long pinned = 0;
+        try (RecordingFile file = new RecordingFile(jfrFile)) {
+            while (file.hasMoreEvents()) {
+                final RecordedEvent event = file.readEvent();
+                if (!PINNED_EVENT.equals(event.getEventType().getName())) {
+                    continue;
+                }
+                pinned++;
+                if (event.getStackTrace() != null) {
+                    frames.merge(describe(event.getStackTrace().getFrames()), 1L, Long::sum);
+                }
+            }
+        }
+        return pinned;
+    }
+
+    private static String describe(final List<RecordedFrame> stack) {
+        // Первый кадр приложения (вне java.*/jdk.*) указывает место закрепления
+        for (final RecordedFrame frame : stack) {
+            final String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return stack.isEmpty() ? "?" : stack.get(0).getMethod().getType().getName();
+    }
+
+    private static String topFrames(final Map<String, Long> frames) {
+        final StringBuilder result = new StringBuilder();
+        frames.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_FRAMES)
+                .forEach(e -> result.append(result.length() == 0 ? "[" : ", ")
+                        .append(e.getKey()).append(" x").append(e.getValue()));
+        return result.length() == 0 ? "" : result.append(']').toString();
+    }
+
+    private static int schedulerParallelism() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    private static long residentSetKb() {
+        final Path status = Paths.get("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        try {
+            for (final String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (final IOException | NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+}
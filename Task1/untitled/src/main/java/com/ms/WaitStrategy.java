@@ -0,0 +1,71 @@
+package com.ms;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Способ ожидания в {@link RingBufferHandoff}, пока партнёр не продвинет
+ * свою последовательность.
+ *
+ * <p>Ожидание всегда опросное: стратегия лишь решает, чем занять поток между
+ * проверками. Поэтому публикация не платит за пробуждение партнёра, а
+ * стратегии различаются задержкой и расходом процессора.
+ */
+public enum WaitStrategy {
+    /** Непрерывный опрос: минимальная задержка, занятое ядро. */
+    BUSY_SPIN {
+        @Override
+        int idle(final int attempt) throws InterruptedException {
+            checkInterrupted();
+            Thread.onSpinWait();
+            return attempt + 1;
+        }
+    },
+
+    /** Короткий опрос, затем уступка процессора другим потокам. */
+    YIELD {
+        @Override
+        int idle(final int attempt) throws InterruptedException {
+            checkInterrupted();
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            return attempt + 1;
+        }
+    },
+
+    /** Опрос, уступка процессора, затем короткие парковки. */
+    PARK {
+        @Override
+        int idle(final int attempt) throws InterruptedException {
+            checkInterrupted();
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (attempt < 2 * SPIN_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            return attempt + 1;
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = 1_000;
+
+    /**
+     * Выполняет одну паузу между проверками последовательности.
+     *
+     * @param attempt номер попытки, начиная с 0
+     * @return номер следующей попытки
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    abstract int idle(int attempt) throws InterruptedException;
+
+    private static void checkInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
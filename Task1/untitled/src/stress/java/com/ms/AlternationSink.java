@@ -0,0 +1,64 @@
+package com.ms;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Приёмник слов, проверяющий, что "Ping" и "Pong" строго чередуются.
+ *
+ * <p>Состояние проверки — обычные поля: их по очереди меняют задачи Ping и
+ * Pong, и без happens-before между ходами проверка увидит устаревшее значение.
+ * Число слов для сторожевого потока публикуется отдельно через lazySet.
+ */
+final class AlternationSink implements OutputSink {
+    private static final int DISTINCT_LETTER = 1;
+
+    private final AtomicLong progress = new AtomicLong();
+    private final AtomicReference<String> failure;
+    private long words;
+
+    /**
+     * Создаёт приёмник.
+     *
+     * @param failure куда записать первое нарушение
+     */
+    AlternationSink(final AtomicReference<String> failure) {
+        this.failure = failure;
+    }
+
+    @Override
+    public void write(final byte[] data) {
+        if (data.length <= DISTINCT_LETTER) {
+            return;
+        }
+        final byte expected = (byte) (words % 2 == 0 ? 'i' : 'o');
+        if (data[DISTINCT_LETTER] != expected) {
+            failure.compareAndSet(null, "слово " + words + " не в свою очередь: " + (char) data[DISTINCT_LETTER]);
+        }
+        words++;
+        progress.lazySet(words);
+    }
+
+    @Override
+    public void flush() {
+        // Проверка идёт при записи
+    }
+
+    /**
+     * Возвращает число записанных слов для сторожевого потока.
+     *
+     * @return число слов
+     */
+    long getProgress() {
+        return progress.get();
+    }
+
+    /**
+     * Возвращает число записанных слов; читать после завершения задач.
+     *
+     * @return число слов
+     */
+    long getWords() {
+        return words;
+    }
+}
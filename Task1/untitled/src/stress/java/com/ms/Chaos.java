@@ -0,0 +1,79 @@
+package com.ms;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Поток помех: через случайные паузы прерывает участников или будит их
+ * через {@link LockSupport#unpark(Thread)}.
+ *
+ * <p>Лишний unpark — это ложное пробуждение для всех реализаций, которые
+ * паркуются (AQS, Semaphore, Phaser, spin-then-park): они обязаны заново
+ * проверить условие и заснуть. Монитор {@link MonitorHandoff} снаружи не
+ * разбудить, но в кольце из трёх и более участников notifyAll сам будит
+ * тех, чей ход ещё не наступил, — это тот же путь кода.
+ */
+final class Chaos implements Runnable {
+    private static final int MAX_PAUSE_NANOS = 200_000;
+
+    private final List<Thread> targets;
+    private final boolean interrupts;
+    private final SplittableRandom random;
+    private volatile boolean stopped;
+    private long interruptsSent;
+    private long unparksSent;
+
+    /**
+     * Создаёт поток помех.
+     *
+     * @param targets    потоки участников
+     * @param interrupts прерывать ли участников (иначе только unpark)
+     * @param seed       начальное значение генератора
+     */
+    Chaos(final List<Thread> targets, final boolean interrupts, final long seed) {
+        this.targets = targets;
+        this.interrupts = interrupts;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void run() {
+        while (!stopped) {
+            LockSupport.parkNanos(random.nextInt(MAX_PAUSE_NANOS));
+            final Thread target = targets.get(random.nextInt(targets.size()));
+            if (interrupts && random.nextBoolean()) {
+                target.interrupt();
+                interruptsSent++;
+            } else {
+                LockSupport.unpark(target);
+                unparksSent++;
+            }
+        }
+    }
+
+    /**
+     * Останавливает поток помех.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Возвращает число отправленных прерываний; читать после завершения потока.
+     *
+     * @return число прерываний
+     */
+    long getInterruptsSent() {
+        return interruptsSent;
+    }
+
+    /**
+     * Возвращает число лишних unpark; читать после завершения потока.
+     *
+     * @return число unpark
+     */
+    long getUnparksSent() {
+        return unparksSent;
+    }
+}
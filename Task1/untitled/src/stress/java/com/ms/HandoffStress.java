@@ -0,0 +1,135 @@
+package com.ms;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочная проверка всех реализаций передачи хода в духе jcstress.
+ *
+ * <p>Для каждой реализации в течение заданного времени подряд выполняются
+ * сценарии со случайными параметрами: кольцо из 2..8 участников
+ * ({@link TurnScenario}, с прерываниями или без) или пара Ping/Pong с
+ * настоящими задачами и выводом ({@link PairScenario}). Всё это время поток
+ * помех шлёт прерывания и лишние unpark. Проверяется строгое чередование
+ * ходов, отсутствие потерянных обновлений и потерянных сигналов (зависаний);
+ * попутно считается пропускная способность. Новые константы
+ * {@link HandoffStrategy} и {@link RendezvousStrategy} попадают в проверку
+ * автоматически.
+ *
+ * <p>Параметры сценария определяются seed, который печатается вместе с
+ * нарушением; порядок потоков, конечно, каждый раз свой.
+ */
+public final class HandoffStress {
+    private static final int DEFAULT_SECONDS = 10;
+    private static final int MAX_PARTIES = 8;
+    private static final int MIN_TURNS = 1_000;
+    private static final int MAX_TURNS = 100_000;
+    private static final int MIN_ROUNDS = 10_000;
+    private static final int MAX_ROUNDS = 500_000;
+    private static final int RING_SHARE = 4;
+
+    private final SplittableRandom random;
+    private final long budgetNanos;
+    private int failures;
+
+    private HandoffStress(final long seed, final long budgetNanos) {
+        this.random = new SplittableRandom(seed);
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Запускает проверку.
+     *
+     * @param args [секунд на реализацию] [seed] [реализации через запятую, по умолчанию все]
+     * @throws InterruptedException если основной поток прерван
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        final int seconds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SECONDS;
+        final long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        final List<String> only = args.length > 2
+                ? Arrays.asList(args[2].trim().split("\\s*,\\s*")) : Collections.emptyList();
+        System.out.printf("Проверка передачи хода: %d с на реализацию, seed %d%n", seconds, seed);
+
+        final HandoffStress stress = new HandoffStress(seed, TimeUnit.SECONDS.toNanos(seconds));
+        for (final HandoffStrategy strategy : HandoffStrategy.values()) {
+            if (only.isEmpty() || only.contains(strategy.name())) {
+                stress.check(strategy);
+            }
+        }
+        for (final RendezvousStrategy strategy : RendezvousStrategy.values()) {
+            if (only.isEmpty() || only.contains(strategy.name())) {
+                stress.check(strategy);
+            }
+        }
+        if (stress.failures > 0) {
+            throw new IllegalStateException("Найдено нарушений: " + stress.failures);
+        }
+        System.out.println("Нарушений не найдено");
+    }
+
+    private void check(final HandoffStrategy strategy) throws InterruptedException {
+        final Summary summary = new Summary(strategy.name());
+        final long deadline = System.nanoTime() + budgetNanos;
+        while (System.nanoTime() < deadline) {
+            if (random.nextInt(RING_SHARE) > 0) {
+                summary.add(new TurnScenario(strategy, random.nextInt(TurnHandoff.MIN_PARTIES, MAX_PARTIES + 1),
+                        random.nextInt(MIN_TURNS, MAX_TURNS + 1), random.nextBoolean(), random.nextLong()).run());
+            } else {
+                summary.add(PairScenario.of(strategy, random.nextInt(MIN_ROUNDS, MAX_ROUNDS + 1),
+                        random.nextLong()).run());
+            }
+        }
+        summary.print();
+    }
+
+    private void check(final RendezvousStrategy strategy) throws InterruptedException {
+        final Summary summary = new Summary(strategy.name());
+        final long deadline = System.nanoTime() + budgetNanos;
+        while (System.nanoTime() < deadline) {
+            summary.add(PairScenario.of(strategy, random.nextInt(MIN_ROUNDS, MAX_ROUNDS + 1),
+                    random.nextLong()).run());
+        }
+        summary.print();
+    }
+
+    /**
+     * Итоги по одной реализации.
+     */
+    private final class Summary {
+        private final String name;
+        private int scenarios;
+        private int failed;
+        private long turns;
+        private long interrupts;
+        private long unparks;
+        private long elapsedNanos;
+
+        Summary(final String name) {
+            this.name = name;
+        }
+
+        void add(final ScenarioResult result) {
+            scenarios++;
+            turns += result.getTurns();
+            interrupts += result.getInterrupts();
+            unparks += result.getUnparks();
+            elapsedNanos += result.getElapsedNanos();
+            if (result.isFailed()) {
+                failed++;
+                failures++;
+                System.out.println("НАРУШЕНИЕ " + result.getDescription() + System.lineSeparator()
+                        + "  " + result.getFailure());
+            }
+        }
+
+        void print() {
+            System.out.printf("%s: сценариев %d, ходов %d, прерываний %d, лишних unpark %d, ходов/с %.0f — %s%n",
+                    name, scenarios, turns, interrupts, unparks,
+                    elapsedNanos == 0 ? 0.0 : turns * 1e9 / elapsedNanos,
+                    failed == 0 ? "OK" : "НАРУШЕНИЙ " + failed);
+        }
+    }
+}
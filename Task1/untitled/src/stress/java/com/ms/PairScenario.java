@@ -0,0 +1,97 @@
+package com.ms;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Сценарий для пары Ping/Pong целиком — с задачами и выводом, как в
+ * приложении, — под ложными пробуждениями.
+ *
+ * <p>Прерывания не посылаются: задачи пары по прерыванию завершаются.
+ */
+final class PairScenario {
+    private final String name;
+    private final PingPongPair pair;
+    private final AlternationSink sink;
+    private final int iterations;
+    private final long seed;
+    private final AtomicReference<String> failure;
+
+    private PairScenario(final String name, final Pair pairFactory, final int iterations, final long seed) {
+        this.name = name;
+        this.failure = new AtomicReference<>();
+        this.sink = new AlternationSink(failure);
+        this.pair = pairFactory.create(iterations, sink);
+        this.iterations = iterations;
+        this.seed = seed;
+    }
+
+    /**
+     * Создаёт сценарий для пары поверх передачи хода.
+     *
+     * @param strategy   проверяемая реализация
+     * @param iterations число раундов
+     * @param seed       начальное значение генератора помех
+     * @return сценарий
+     */
+    static PairScenario of(final HandoffStrategy strategy, final int iterations, final long seed) {
+        return new PairScenario(strategy.name(), (n, out) -> new HandoffPair(strategy.create(), n, out),
+                iterations, seed);
+    }
+
+    /**
+     * Создаёт сценарий для пары поверх встречи.
+     *
+     * @param strategy   проверяемая реализация
+     * @param iterations число раундов
+     * @param seed       начальное значение генератора помех
+     * @return сценарий
+     */
+    static PairScenario of(final RendezvousStrategy strategy, final int iterations, final long seed) {
+        return new PairScenario(strategy.name(), (n, out) -> new RendezvousPair(strategy.create(), n, out),
+                iterations, seed);
+    }
+
+    /**
+     * Выполняет сценарий.
+     *
+     * @return итог сценария
+     * @throws InterruptedException если ожидающий поток прерван
+     */
+    ScenarioResult run() throws InterruptedException {
+        final Thread ping = new Thread(pair.pingTask(), name + "-ping");
+        final Thread pong = new Thread(pair.pongTask(), name + "-pong");
+        ping.setDaemon(true);
+        pong.setDaemon(true);
+        final List<Thread> threads = Arrays.asList(ping, pong);
+        final Chaos chaos = new Chaos(threads, false, seed);
+        final Thread chaosThread = new Thread(chaos, "chaos");
+        chaosThread.setDaemon(true);
+
+        final long start = System.nanoTime();
+        ping.start();
+        pong.start();
+        chaosThread.start();
+        final String stall = Watchdog.await(threads, sink::getProgress);
+        final long elapsed = System.nanoTime() - start;
+        chaos.stop();
+        chaosThread.join();
+
+        if (stall != null) {
+            failure.compareAndSet(null, stall);
+        } else if (sink.getWords() != 2L * iterations) {
+            failure.compareAndSet(null, "потеряны ходы: слов " + sink.getWords() + " вместо " + 2L * iterations);
+        }
+        return new ScenarioResult(String.format("пара %s: раундов %d, seed %d", name, iterations, seed),
+                sink.getProgress(), chaos, elapsed, failure.get());
+    }
+
+    /**
+     * Способ создать проверяемую пару.
+     */
+    @FunctionalInterface
+    private interface Pair {
+        PingPongPair create(int iterations, OutputSink sink);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ms;
+
+/**
+ * Итог одного сценария нагрузочной проверки.
+ */
+final class ScenarioResult {
+    private final String description;
+    private final long turns;
+    private final long interrupts;
+    private final long unparks;
+    private final long elapsedNanos;
+    private final String failure;
+
+    /**
+     * Создаёт итог.
+     *
+     * @param description  параметры сценария
+     * @param turns        число сделанных ходов
+     * @param chaos        поток помех сценария (после остановки)
+     * @param elapsedNanos длительность сценария
+     * @param failure      описание нарушения или null
+     */
+    ScenarioResult(final String description, final long turns, final Chaos chaos,
+                   final long elapsedNanos, final String failure) {
+        this.description = description;
+        this.turns = turns;
+        this.interrupts = chaos.getInterruptsSent();
+        this.unparks = chaos.getUnparksSent();
+        this.elapsedNanos = elapsedNanos;
+        this.failure = failure;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    long getTurns() {
+        return turns;
+    }
+
+    long getInterrupts() {
+        return interrupts;
+    }
+
+    long getUnparks() {
+        return unparks;
+    }
+
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    boolean isFailed() {
+        return failure != null;
+    }
+
+    String getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,136 @@
+package com.ms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Сценарий для кольца участников поверх {@link TurnHandoff} под помехами.
+ *
+ * <p>Участники по очереди увеличивают обычное (не volatile) поле-счётчик и
+ * проверяют, что его значение по модулю числа участников равно их номеру.
+ * Чужой ход или потерянное обновление — это нарушение исключительности хода
+ * или happens-before между владельцами хода. Прерванный в ожидании участник
+ * повторяет awaitTurn: прерывание не должно ни отдать ему чужой ход, ни
+ * потерять его собственный.
+ *
+ * <p>Прогресс участников публикуется через lazySet в массив, который читает
+ * только сторожевой поток, чтобы не добавлять участникам синхронизации
+ * сверх той, что даёт проверяемая реализация.
+ */
+final class TurnScenario {
+    private final HandoffStrategy strategy;
+    private final int parties;
+    private final int turnsPerParty;
+    private final boolean interrupts;
+    private final long seed;
+
+    private final AtomicLongArray progress;
+    private final AtomicReference<String> failure = new AtomicReference<>();
+    private TurnHandoff handoff;
+    private long ledger;
+    private volatile boolean abandoned;
+
+    /**
+     * Создаёт сценарий.
+     *
+     * @param strategy      проверяемая реализация
+     * @param parties       число участников кольца
+     * @param turnsPerParty число ходов каждого участника
+     * @param interrupts    прерывать ли участников
+     * @param seed          начальное значение генератора помех
+     */
+    TurnScenario(final HandoffStrategy strategy, final int parties, final int turnsPerParty,
+                 final boolean interrupts, final long seed) {
+        this.strategy = strategy;
+        this.parties = parties;
+        this.turnsPerParty = turnsPerParty;
+        this.interrupts = interrupts;
+        this.seed = seed;
+        this.progress = new AtomicLongArray(parties);
+    }
+
+    /**
+     * Выполняет сценарий.
+     *
+     * @return итог сценария
+     * @throws InterruptedException если ожидающий поток прерван
+     */
+    ScenarioResult run() throws InterruptedException {
+        handoff = strategy.create(parties);
+        final List<Thread> threads = new ArrayList<>(parties);
+        for (int i = 0; i < parties; i++) {
+            final int party = i;
+            final Thread thread = new Thread(() -> play(party), strategy + "-" + party);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+        final Chaos chaos = new Chaos(threads, interrupts, seed);
+        final Thread chaosThread = new Thread(chaos, "chaos");
+        chaosThread.setDaemon(true);
+
+        final long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        chaosThread.start();
+        final String stall = Watchdog.await(threads, this::totalProgress);
+        final long elapsed = System.nanoTime() - start;
+        chaos.stop();
+        chaosThread.join();
+
+        if (stall != null) {
+            abandoned = true;
+            failure.compareAndSet(null, stall);
+        } else if (ledger != (long) parties * turnsPerParty) {
+            failure.compareAndSet(null, "потеряны ходы: счётчик " + ledger + " вместо "
+                    + (long) parties * turnsPerParty);
+        }
+        return new ScenarioResult(describe(), totalProgress(), chaos, elapsed, failure.get());
+    }
+
+    private void play(final int party) {
+        for (int i = 0; i < turnsPerParty; i++) {
+            if (!awaitTurn(party)) {
+                return;
+            }
+            try {
+                final long value = ledger;
+                if (value % parties != party) {
+                    failure.compareAndSet(null, "участник " + party + " получил чужой ход: " + value);
+                }
+                ledger = value + 1;
+            } finally {
+                handoff.passTurn(party);
+            }
+            progress.lazySet(party, i + 1);
+        }
+        Thread.interrupted();
+    }
+
+    private boolean awaitTurn(final int party) {
+        while (true) {
+            try {
+                handoff.awaitTurn(party);
+                return true;
+            } catch (final InterruptedException e) {
+                // Помеха: ход не получен, ждём снова, пока сценарий не брошен
+                if (abandoned) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private long totalProgress() {
+        long sum = 0;
+        for (int i = 0; i < parties; i++) {
+            sum += progress.get(i);
+        }
+        return sum;
+    }
+
+    private String describe() {
+        return String.format("кольцо %s: участников %d, ходов на участника %d, прерывания %s, seed %d",
+                strategy, parties, turnsPerParty, interrupts ? "да" : "нет", seed);
+    }
+}
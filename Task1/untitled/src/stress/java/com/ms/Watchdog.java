@@ -0,0 +1,67 @@
+package com.ms;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Ожидание участников сценария с обнаружением потерянного сигнала: если
+ * счётчик прогресса не меняется дольше {@link #STALL_SECONDS} секунд, а
+ * участники ещё живы, кто-то из них ждёт хода, о котором его не известили.
+ */
+final class Watchdog {
+    /** Сколько секунд без прогресса считается зависанием. */
+    static final int STALL_SECONDS = 5;
+
+    private static final long POLL_MILLIS = 100;
+    private static final int STACK_DEPTH = 6;
+
+    /**
+     * Приватный конструктор для утилитного класса.
+     */
+    private Watchdog() {
+        // Утилитный класс
+    }
+
+    /**
+     * Ждёт завершения потоков, следя за прогрессом.
+     *
+     * @param threads  потоки участников
+     * @param progress суммарный прогресс участников
+     * @return описание зависания со стеками потоков или null, если все завершились
+     * @throws InterruptedException если ожидающий поток прерван
+     */
+    static String await(final List<Thread> threads, final LongSupplier progress) throws InterruptedException {
+        final long stallNanos = TimeUnit.SECONDS.toNanos(STALL_SECONDS);
+        long last = progress.getAsLong();
+        long lastChange = System.nanoTime();
+        for (final Thread thread : threads) {
+            while (thread.isAlive()) {
+                thread.join(POLL_MILLIS);
+                final long current = progress.getAsLong();
+                if (current != last) {
+                    last = current;
+                    lastChange = System.nanoTime();
+                } else if (System.nanoTime() - lastChange > stallNanos) {
+                    return describeStall(threads, last);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String describeStall(final List<Thread> threads, final long progress) {
+        final StringBuilder report = new StringBuilder()
+                .append("потерян сигнал: нет прогресса ").append(STALL_SECONDS)
+                .append(" с, сделано ходов ").append(progress);
+        for (final Thread thread : threads) {
+            report.append(System.lineSeparator()).append("  ").append(thread.getName())
+                    .append(' ').append(thread.getState());
+            final StackTraceElement[] stack = thread.getStackTrace();
+            for (int i = 0; i < Math.min(STACK_DEPTH, stack.length); i++) {
+                report.append(System.lineSeparator()).append("    at ").append(stack[i]);
+            }
+        }
+        return report.toString();
+    }
+}
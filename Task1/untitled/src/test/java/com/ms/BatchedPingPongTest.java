@@ -0,0 +1,103 @@
+package com.ms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchedPingPongTest {
+
+    private static final long ITEMS = 10_000;
+    private static final int MAX_BATCH = 256;
+
+    private long expectedSum() {
+        return ITEMS * (ITEMS - 1) / 2;
+    }
+
+    private void runPair(final BatchedPingPong pair) throws InterruptedException {
+        Thread ping = new Thread(pair.pingTask());
+        Thread pong = new Thread(pair.pongTask());
+        ping.start();
+        pong.start();
+        ping.join();
+        pong.join();
+    }
+
+    @Test
+    @Timeout(10)
+    public void testFixedBatchDeliversAllItemsInOrder() throws InterruptedException {
+        final AtomicLong next = new AtomicLong();
+        final AtomicLong outOfOrder = new AtomicLong();
+        BatchedPingPong pair = new BatchedPingPong(new LockConditionHandoff(), ITEMS, BatchSizer.fixed(64),
+                item -> {
+                    if (item != next.getAndIncrement()) {
+                        outOfOrder.incrementAndGet();
+                    }
+                });
+
+        runPair(pair);
+
+        assertEquals(ITEMS, next.get());
+        assertEquals(0, outOfOrder.get());
+        // 10000 / 64 с последним неполным пакетом
+        assertEquals(157, pair.getBatches());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testAdaptiveBatchStaysWithinBounds() throws InterruptedException {
+        final AtomicLong sum = new AtomicLong();
+        BatchedPingPong pair = new BatchedPingPong(new SpinParkHandoff(), ITEMS,
+                BatchSizer.adaptive(1, MAX_BATCH), sum::addAndGet);
+
+        runPair(pair);
+
+        assertEquals(expectedSum(), sum.get());
+        assertTrue(pair.getBatchSize() >= 1 && pair.getBatchSize() <= MAX_BATCH);
+    }
+
+    @Test
+    public void testSizerGrowsWhenHandoffDominates() {
+        BatchSizer sizer = BatchSizer.adaptive(1, 8);
+
+        // Партнёр ждал намного дольше, чем заполнялся пакет
+        assertEquals(2, sizer.adapt(10_000, 100));
+        assertEquals(4, sizer.adapt(10_000, 100));
+        assertEquals(8, sizer.adapt(10_000, 100));
+        assertEquals(8, sizer.adapt(10_000, 100));
+    }
+
+    @Test
+    public void testSizerShrinksWhenHandoffNegligible() {
+        BatchSizer sizer = BatchSizer.adaptive(2, 8);
+        sizer.adapt(10_000, 100);
+        sizer.adapt(10_000, 100);
+
+        // Ожидание партнёра почти целиком ушло на заполнение пакета
+        assertEquals(4, sizer.adapt(100_001, 100_000));
+        assertEquals(2, sizer.adapt(100_001, 100_000));
+        assertEquals(2, sizer.adapt(100_001, 100_000));
+        // Промежуточная зона — размер не меняется
+        assertEquals(2, sizer.adapt(105_000, 100_000));
+    }
+
+    @Test
+    public void testFixedSizerNeverChanges() {
+        BatchSizer sizer = BatchSizer.fixed(16);
+
+        assertEquals(16, sizer.adapt(10_000, 100));
+        assertEquals(16, sizer.adapt(100_001, 100_000));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> BatchSizer.adaptive(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> BatchSizer.adaptive(8, 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchedPingPong(new LockConditionHandoff(3), ITEMS, BatchSizer.fixed(1), item -> { }));
+    }
+}
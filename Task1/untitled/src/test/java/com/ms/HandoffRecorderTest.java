@@ -0,0 +1,89 @@
+package com.ms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HandoffRecorderTest {
+
+    private static final int ROUNDS = 2_000;
+    private static final long WAIT_MILLIS = 100;
+
+    @Test
+    @Timeout(10)
+    public void testInstrumentedHandoffRecordsWakeupsAndLockHolds() throws InterruptedException {
+        HandoffRecorder recorder = new HandoffRecorder();
+        ReentrantLockCondition game = new ReentrantLockCondition(ROUNDS, NullSink.INSTANCE, recorder);
+
+        Thread ping = new Thread(game.pingTask());
+        Thread pong = new Thread(game.pongTask());
+        ping.start();
+        pong.start();
+        ping.join();
+        pong.join();
+
+        // Каждый раунд — по awaitTurn и passTurn у обоих участников
+        assertEquals(4L * ROUNDS, recorder.getLockHoldCount());
+        // Пробуждение замеряется, только если участник действительно ждал
+        assertTrue(recorder.getWakeupCount() > 0 && recorder.getWakeupCount() <= 2L * ROUNDS,
+                "пробуждений: " + recorder.getWakeupCount());
+        assertTrue(recorder.getWakeupP50Nanos() <= recorder.getWakeupP99Nanos());
+        assertTrue(recorder.getWakeupP99Nanos() <= recorder.getWakeupMaxNanos());
+        assertTrue(recorder.getReport().contains("Пробуждение: n=" + recorder.getWakeupCount()));
+    }
+
+    @Test
+    @Timeout(10)
+    public void testInterruptedWaitIsNotRecordedAsLockHold() throws InterruptedException {
+        HandoffRecorder recorder = new HandoffRecorder();
+        LockConditionHandoff handoff = new LockConditionHandoff(2, recorder);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        // Ход у Ping, Pong ждёт, пока его не прервут
+        Thread pong = new Thread(() -> {
+            try {
+                handoff.awaitTurn(TurnHandoff.PONG);
+            } catch (final InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        pong.start();
+        Thread.sleep(WAIT_MILLIS);
+        pong.interrupt();
+        pong.join();
+
+        assertTrue(interrupted.get());
+        // Ожидание в await() — не удержание блокировки
+        assertEquals(0L, recorder.getLockHoldCount());
+        assertEquals(0L, recorder.getWakeupCount());
+    }
+
+    @Test
+    public void testStatsAvailableThroughJmx() throws JMException {
+        HandoffRecorder recorder = new HandoffRecorder();
+        recorder.recordLockHold(100);
+        recorder.recordLockHold(300);
+        ObjectName name = recorder.register("test");
+        // Повторная регистрация под тем же именем заменяет прежнюю
+        recorder.register("test");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(2L, server.getAttribute(name, "LockHoldCount"));
+            assertEquals(300L, server.getAttribute(name, "LockHoldMaxNanos"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, server.getAttribute(name, "LockHoldCount"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 100_000;
+
+    @Test
+    public void testBucketsCoverLongRangeWithoutGaps() {
+        // Каждая корзина начинается сразу за верхней границей предыдущей
+        long expectedLowest = 0;
+        int last = LatencyHistogram.indexOf(Long.MAX_VALUE);
+        for (int i = 0; i <= last; i++) {
+            assertEquals(i, LatencyHistogram.indexOf(expectedLowest), "нижняя граница корзины " + i);
+            long highest = LatencyHistogram.highestValueIn(i);
+            assertEquals(i, LatencyHistogram.indexOf(highest), "верхняя граница корзины " + i);
+            expectedLowest = highest + 1;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueIn(last));
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 100_000; v++) {
+            histogram.record(v);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(100_000, snapshot.getMax());
+        assertWithin(50_000, snapshot.percentile(0.5));
+        assertWithin(99_000, snapshot.percentile(0.99));
+        assertWithin(99_900, snapshot.percentile(0.999));
+        assertEquals(100_000, snapshot.percentile(1.0));
+    }
+
+    @Test
+    public void testEmptyAndNegativeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().percentile(0.99));
+
+        histogram.record(-5);
+        assertEquals(1, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getMax());
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testConcurrentRecordsAreNotLost() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    histogram.record(i + offset);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) THREADS * PER_THREAD, histogram.snapshot().getCount());
+        assertEquals(PER_THREAD - 1 + THREADS - 1, histogram.snapshot().getMax());
+    }
+
+    private void assertWithin(final long expected, final long actual) {
+        // Верхняя граница корзины выше значения не более чем на 1/16
+        assertTrue(actual >= expected && actual <= expected + expected / 16,
+                "ожидалось " + expected + " (+6,25%), получено " + actual);
+    }
+}
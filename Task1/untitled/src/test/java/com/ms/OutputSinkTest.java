@@ -0,0 +1,97 @@
+package com.ms;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OutputSinkTest {
+
+    private static final String WORD = "Ping ";
+    private static final byte[] PING = WORD.getBytes(StandardCharsets.UTF_8);
+
+    // Поток, который отказывает на любой записи
+    private final OutputStream broken = new OutputStream() {
+        @Override
+        public void write(final int b) throws IOException {
+            throw new IOException("диск заполнен");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            throw new IOException("диск заполнен");
+        }
+    };
+
+    @Test
+    public void testBufferedSinkWritesOnlyOnFlush() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BufferedSink sink = new BufferedSink(out);
+
+        sink.write(PING);
+        assertEquals("", out.toString(), "До flush данные должны оставаться в буфере");
+
+        sink.flush();
+        assertEquals(WORD, out.toString());
+    }
+
+    @Test
+    public void testBufferedSinkDrainsWhenFull() {
+        // Буфер на 8 байт: вторая запись не помещается и выталкивает первую
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BufferedSink sink = new BufferedSink(out, 8);
+
+        sink.write(PING);
+        sink.write(PING);
+        assertEquals(WORD, out.toString());
+
+        sink.flush();
+        assertEquals(WORD + WORD, out.toString());
+    }
+
+    @Test
+    public void testBufferedSinkWritesOversizedDataDirectly() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BufferedSink sink = new BufferedSink(out, 2);
+
+        sink.write(PING);
+        assertEquals(WORD, out.toString());
+    }
+
+    @Test
+    public void testBufferedSinkRejectsEmptyBuffer() {
+        assertThrows(IllegalArgumentException.class, () -> new BufferedSink(new ByteArrayOutputStream(), 0));
+    }
+
+    @Test
+    public void testStreamSinkWritesImmediately() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamSink sink = new StreamSink(out);
+
+        sink.write(PING);
+        sink.flush();
+        assertEquals(WORD, out.toString());
+    }
+
+    @Test
+    public void testIoErrorsAreReported() {
+        assertThrows(UncheckedIOException.class, () -> new StreamSink(broken).write(PING));
+        assertThrows(UncheckedIOException.class, () -> new StreamSink(broken).flush());
+        BufferedSink sink = new BufferedSink(broken, 1);
+        assertThrows(UncheckedIOException.class, () -> sink.write(PING));
+        assertThrows(UncheckedIOException.class, sink::flush);
+    }
+
+    @Test
+    public void testNullSinkDiscardsData() {
+        NullSink.INSTANCE.write(PING);
+        NullSink.INSTANCE.flush();
+        assertEquals(NullSink.INSTANCE, NullSink.INSTANCE);
+    }
+}
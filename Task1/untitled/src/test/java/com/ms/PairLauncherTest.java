@@ -0,0 +1,78 @@
+package com.ms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PairLauncherTest {
+
+    private final PrintStream originalOut = System.out;
+
+    @ParameterizedTest
+    @EnumSource(HandoffStrategy.class)
+    @Timeout(20)
+    public void testIndependentPairsRunConcurrently(final HandoffStrategy strategy) throws Exception {
+        // Каждая пара пишет в свой буфер, и вывод каждой пары строго чередуется
+        final int pairCount = 50;
+        List<ByteArrayOutputStream> outputs = new ArrayList<>();
+        List<HandoffPair> pairs = new ArrayList<>();
+        for (int i = 0; i < pairCount; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            outputs.add(out);
+            pairs.add(new HandoffPair(strategy.create(), 3, new BufferedSink(out)));
+        }
+
+        ExecutorService executor = ThreadMode.PLATFORM.newExecutor();
+        try {
+            new PairLauncher(executor).run(pairs);
+        } finally {
+            executor.shutdown();
+        }
+
+        for (ByteArrayOutputStream out : outputs) {
+            assertEquals("Ping Pong Ping Pong Ping Pong", out.toString());
+        }
+    }
+
+    @Test
+    public void testRejectsTooSmallPool() {
+        // Пул на 2 потока не может обслужить 2 пары — была бы взаимная блокировка
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<PingPongPair> pairs = Collections.nCopies(2, new PingPong(1, NullSink.INSTANCE));
+            assertThrows(IllegalArgumentException.class, () -> new PairLauncher(executor).run(pairs));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(20)
+    public void testMainPrintsSummary() throws Exception {
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        // Явная кодировка: при локали C/POSIX кириллица иначе не переживёт вывод
+        System.setOut(new PrintStream(outContent, true, StandardCharsets.UTF_8));
+        try {
+            PairLauncher.main(new String[]{"10", "100", "PLATFORM", "LOCK_CONDITION"});
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        String output = outContent.toString(StandardCharsets.UTF_8);
+        assertTrue(output.contains("передач хода: 2000"), output);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PingPongTest {
+
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    public void setUp() {
+        System.setOut(new PrintStream(outContent));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @Timeout(5)
+    public void testMainPrintsAlternatingSequence() {
+        // Полный прогон из main: ходы строго чередуются
+        PingPong.main(new String[]{});
+
+        assertEquals("Ping Pong Ping Pong Ping Pong Ping Pong Ping Pong", outContent.toString());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testCustomIterationCount() throws InterruptedException {
+        // Число раундов задаётся через конструктор задач
+        PingPong pair = new PingPong(2, new BufferedSink(System.out));
+        Thread pingThread = new Thread(pair.pingTask());
+        Thread pongThread = new Thread(pair.pongTask());
+        pingThread.start();
+        pongThread.start();
+        pingThread.join();
+        pongThread.join();
+
+        assertEquals("Ping Pong Ping Pong", outContent.toString());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testInterruptedPongTaskStops() throws InterruptedException {
+        // Pong ждёт своего хода и должен завершиться по прерыванию
+        Thread pongThread = new Thread(new PingPong().pongTask());
+        pongThread.start();
+        Thread.sleep(100);
+        pongThread.interrupt();
+        pongThread.join(1000);
+
+        assertFalse(pongThread.isAlive(), "Pong поток должен завершиться после прерывания");
+    }
+
+    @Test
+    public void testPairRequiresTwoPartyHandoff() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HandoffPair(new MonitorHandoff(3), 1, NullSink.INSTANCE));
+    }
+}
@@ -7,7 +7,6 @@ import org.junit.jupiter.api.AfterEach;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -21,10 +20,13 @@ public class ReentrantLockConditionTest {
     private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
     private final PrintStream originalOut = System.out;
     private Thread testThread;
+    private ReentrantLockCondition game;
 
     @BeforeEach
     public void setUp() {
         System.setOut(new PrintStream(outContent));
+        // Каждый тест работает со своей независимой парой
+        game = new ReentrantLockCondition();
     }
 
     @AfterEach
@@ -58,10 +60,10 @@ public class ReentrantLockConditionTest {
     @Test
     public void testPingTaskExecution() throws InterruptedException {
         // Тест отдельного выполнения PingTask с правильной настройкой состояния
-        ReentrantLockCondition.PingTask pingTask = new ReentrantLockCondition.PingTask();
+        Runnable pingTask = game.pingTask();
 
         // Устанавливаем начальное состояние
-        setStaticBooleanField("pingTurn", true);
+        setHandoffTurn(TurnHandoff.PING);
 
         testThread = new Thread(() -> {
             try {
@@ -83,10 +85,10 @@ public class ReentrantLockConditionTest {
     @Test
     public void testPongTaskExecution() throws InterruptedException {
         // Тест отдельного выполнения PongTask с правильной настройкой состояния
-        ReentrantLockCondition.PongTask pongTask = new ReentrantLockCondition.PongTask();
+        Runnable pongTask = game.pongTask();
 
         // Устанавливаем начальное состояние
-        setStaticBooleanField("pingTurn", false);
+        setHandoffTurn(TurnHandoff.PONG);
 
         testThread = new Thread(() -> {
             try {
@@ -112,7 +114,7 @@ public class ReentrantLockConditionTest {
         AtomicBoolean pongCompleted = new AtomicBoolean(false);
 
         Thread pingThread = new Thread(() -> {
-            ReentrantLockCondition.PingTask pingTask = new ReentrantLockCondition.PingTask();
+            Runnable pingTask = game.pingTask();
             try {
                 pingTask.run();
                 pingCompleted.set(true);
@@ -122,7 +124,7 @@ public class ReentrantLockConditionTest {
         });
 
         Thread pongThread = new Thread(() -> {
-            ReentrantLockCondition.PongTask pongTask = new ReentrantLockCondition.PongTask();
+            Runnable pongTask = game.pongTask();
             try {
                 pongTask.run();
                 pongCompleted.set(true);
@@ -157,8 +159,8 @@ public class ReentrantLockConditionTest {
         Thread[] pongThreads = new Thread[threadCount];
 
         for (int i = 0; i < threadCount; i++) {
-            pingThreads[i] = new Thread(new ReentrantLockCondition.PingTask());
-            pongThreads[i] = new Thread(new ReentrantLockCondition.PongTask());
+            pingThreads[i] = new Thread(game.pingTask());
+            pongThreads[i] = new Thread(game.pongTask());
         }
 
         // Запускаем все потоки
@@ -194,10 +196,10 @@ public class ReentrantLockConditionTest {
     @Test
     public void testPingTaskWithInterruptedException() throws Exception {
         // Тест для проверки обработки InterruptedException в PingTask
-        ReentrantLockCondition.PingTask pingTask = new ReentrantLockCondition.PingTask();
+        Runnable pingTask = game.pingTask();
 
         // Устанавливаем состояние чтобы попасть в await
-        setStaticBooleanField("pingTurn", false);
+        setHandoffTurn(TurnHandoff.PONG);
 
         Thread testThread = new Thread(() -> {
             try {
@@ -222,10 +224,10 @@ public class ReentrantLockConditionTest {
     @Test
     public void testPongTaskWithInterruptedException() throws Exception {
         // Тест для проверки обработки InterruptedException в PongTask
-        ReentrantLockCondition.PongTask pongTask = new ReentrantLockCondition.PongTask();
+        Runnable pongTask = game.pongTask();
 
         // Устанавливаем состояние чтобы попасть в await
-        setStaticBooleanField("pingTurn", true);
+        setHandoffTurn(TurnHandoff.PING);
 
         Thread testThread = new Thread(() -> {
             try {
@@ -250,10 +252,10 @@ public class ReentrantLockConditionTest {
     @Test
     public void testPingTaskCompleteCycle() throws Exception {
         // Тест полного выполнения PingTask без прерываний
-        ReentrantLockCondition.PingTask pingTask = new ReentrantLockCondition.PingTask();
+        Runnable pingTask = game.pingTask();
 
         // Сбрасываем состояние перед тестом
-        setStaticBooleanField("pingTurn", true);
+        setHandoffTurn(TurnHandoff.PING);
 
         Thread testThread = new Thread(() -> {
             pingTask.run();
@@ -269,10 +271,10 @@ public class ReentrantLockConditionTest {
     @Test
     public void testPongTaskCompleteCycle() throws Exception {
         // Тест полного выполнения PongTask без прерываний
-        ReentrantLockCondition.PongTask pongTask = new ReentrantLockCondition.PongTask();
+        Runnable pongTask = game.pongTask();
 
         // Сбрасываем состояние перед тестом
-        setStaticBooleanField("pingTurn", false);
+        setHandoffTurn(TurnHandoff.PONG);
 
         Thread testThread = new Thread(() -> {
             pongTask.run();
@@ -286,14 +288,20 @@ public class ReentrantLockConditionTest {
     }
 
     @Test
-    public void testPrivateConstructor() throws Exception {
-        // Тест приватного конструктора утилитного класса
-        Constructor<ReentrantLockCondition> constructor = ReentrantLockCondition.class.getDeclaredConstructor();
-        constructor.setAccessible(true);
-
-        // Должен быть возможен вызов приватного конструктора
-        ReentrantLockCondition instance = constructor.newInstance();
-        assertNotNull(instance, "Должен создаваться экземпляр утилитного класса");
+    public void testCustomIterationCount() throws InterruptedException {
+        // Пара с заданным числом раундов и собственным потоком вывода
+        ByteArrayOutputStream pairOut = new ByteArrayOutputStream();
+        ReentrantLockCondition pair = new ReentrantLockCondition(2, new BufferedSink(pairOut));
+
+        Thread pingThread = new Thread(pair.pingTask());
+        Thread pongThread = new Thread(pair.pongTask());
+        pingThread.start();
+        pongThread.start();
+        pingThread.join(2000);
+        pongThread.join(2000);
+
+        assertEquals("Ping Pong Ping Pong", pairOut.toString());
+        assertNotNull(pair.getHandoff(), "У пары должна быть своя передача хода");
     }
 
     @Test
@@ -316,10 +324,10 @@ public class ReentrantLockConditionTest {
     @Test
     public void testConditionAwaitInPingTask() throws Exception {
         // Специфический тест для ветки await в PingTask
-        ReentrantLockCondition.PingTask pingTask = new ReentrantLockCondition.PingTask();
+        Runnable pingTask = game.pingTask();
 
-        // Устанавливаем pingTurn в false чтобы попасть в ветку await
-        setStaticBooleanField("pingTurn", false);
+        // Отдаём ход Pong чтобы попасть в ветку await
+        setHandoffTurn(TurnHandoff.PONG);
 
         Thread testThread = new Thread(pingTask);
         testThread.start();
@@ -327,19 +335,19 @@ public class ReentrantLockConditionTest {
         // Даем время чтобы поток дошел до await
         Thread.sleep(100);
 
-        // Теперь устанавливаем pingTurn в true и сигналим
-        setStaticBooleanField("pingTurn", true);
+        // Теперь передаём ход Ping и сигналим
+        setHandoffTurn(TurnHandoff.PING);
 
         // Получаем Condition и сигналим
-        Field pingConditionField = ReentrantLockCondition.class.getDeclaredField("PING_CONDITION");
-        pingConditionField.setAccessible(true);
+        Field conditionsField = LockConditionHandoff.class.getDeclaredField("conditions");
+        conditionsField.setAccessible(true);
         java.util.concurrent.locks.Condition pingCondition =
-                (java.util.concurrent.locks.Condition) pingConditionField.get(null);
+                ((java.util.concurrent.locks.Condition[]) conditionsField.get(getHandoff()))[TurnHandoff.PING];
 
-        Field lockField = ReentrantLockCondition.class.getDeclaredField("LOCK");
+        Field lockField = LockConditionHandoff.class.getDeclaredField("lock");
         lockField.setAccessible(true);
         java.util.concurrent.locks.ReentrantLock lock =
-                (java.util.concurrent.locks.ReentrantLock) lockField.get(null);
+                (java.util.concurrent.locks.ReentrantLock) lockField.get(getHandoff());
 
         lock.lock();
         try {
@@ -357,10 +365,10 @@ public class ReentrantLockConditionTest {
     @Test
     public void testConditionAwaitInPongTask() throws Exception {
         // Специфический тест для ветки await в PongTask
-        ReentrantLockCondition.PongTask pongTask = new ReentrantLockCondition.PongTask();
+        Runnable pongTask = game.pongTask();
 
-        // Устанавливаем pingTurn в true чтобы попасть в ветку await
-        setStaticBooleanField("pingTurn", true);
+        // Отдаём ход Ping чтобы попасть в ветку await
+        setHandoffTurn(TurnHandoff.PING);
 
         Thread testThread = new Thread(pongTask);
         testThread.start();
@@ -368,19 +376,19 @@ public class ReentrantLockConditionTest {
         // Даем время чтобы поток дошел до await
         Thread.sleep(100);
 
-        // Теперь устанавливаем pingTurn в false и сигналим
-        setStaticBooleanField("pingTurn", false);
+        // Теперь передаём ход Pong и сигналим
+        setHandoffTurn(TurnHandoff.PONG);
 
         // Получаем Condition и сигналим
-        Field pongConditionField = ReentrantLockCondition.class.getDeclaredField("PONG_CONDITION");
-        pongConditionField.setAccessible(true);
+        Field conditionsField = LockConditionHandoff.class.getDeclaredField("conditions");
+        conditionsField.setAccessible(true);
         java.util.concurrent.locks.Condition pongCondition =
-                (java.util.concurrent.locks.Condition) pongConditionField.get(null);
+                ((java.util.concurrent.locks.Condition[]) conditionsField.get(getHandoff()))[TurnHandoff.PONG];
 
-        Field lockField = ReentrantLockCondition.class.getDeclaredField("LOCK");
+        Field lockField = LockConditionHandoff.class.getDeclaredField("lock");
         lockField.setAccessible(true);
         java.util.concurrent.locks.ReentrantLock lock =
-                (java.util.concurrent.locks.ReentrantLock) lockField.get(null);
+                (java.util.concurrent.locks.ReentrantLock) lockField.get(getHandoff());
 
         lock.lock();
         try {
@@ -467,17 +475,22 @@ public class ReentrantLockConditionTest {
 //    assertTrue(true, "Все проблемные строки покрыты тестами");
     }
 
-    // Вспомогательный метод для установки статических boolean полей
-    private void setStaticBooleanField(String fieldName, boolean value) {
+    // Вспомогательный метод для установки текущего хода общей передачи хода
+    private void setHandoffTurn(int party) {
         try {
-            Field field = ReentrantLockCondition.class.getDeclaredField(fieldName);
+            Field field = LockConditionHandoff.class.getDeclaredField("turn");
             field.setAccessible(true);
-            field.setBoolean(null, value);
+            field.setInt(getHandoff(), party);
         } catch (Exception e) {
-            fail("Не удалось установить поле " + fieldName + ": " + e.getMessage());
+            fail("Не удалось установить поле turn: " + e.getMessage());
         }
     }
 
+    // Передача хода пары, которой пользуются задачи Ping и Pong теста
+    private LockConditionHandoff getHandoff() {
+        return (LockConditionHandoff) game.getHandoff();
+    }
+
     // Модифицированная версия класса для тестов без утечек памяти
     static class ReentrantLockConditionModified {
         private static final ReentrantLock LOCK = new ReentrantLock();
@@ -0,0 +1,71 @@
+package com.ms;
+
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RendezvousPairTest {
+
+    private static final int ROUNDS = 10_000;
+
+    @ParameterizedTest
+    @EnumSource(RendezvousStrategy.class)
+    @Timeout(5)
+    public void testWordsAlternate(final RendezvousStrategy strategy) throws InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RendezvousPair pair = new RendezvousPair(strategy.create(), 3, new BufferedSink(out));
+
+        runPair(pair);
+
+        assertEquals("Ping Pong Ping Pong Ping Pong", out.toString());
+    }
+
+    @ParameterizedTest
+    @EnumSource(RendezvousStrategy.class)
+    @Timeout(20)
+    public void testManyRoundsComplete(final RendezvousStrategy strategy) throws InterruptedException {
+        // Обе стороны должны завершиться: последняя передача хода находит партнёра
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RendezvousPair pair = new RendezvousPair(strategy.create(), ROUNDS, new BufferedSink(out));
+
+        runPair(pair);
+
+        String[] words = out.toString().split(" ");
+        assertEquals(2 * ROUNDS, words.length);
+        for (int i = 0; i < words.length; i++) {
+            assertEquals(i % 2 == 0 ? "Ping" : "Pong", words[i], "слово " + i);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(RendezvousStrategy.class)
+    @Timeout(5)
+    public void testWaitingPartyStopsOnInterrupt(final RendezvousStrategy strategy) throws InterruptedException {
+        // Pong ждёт хода от Ping, который не запущен
+        RendezvousPair pair = new RendezvousPair(strategy.create(), 1, NullSink.INSTANCE);
+        Thread pong = new Thread(pair.pongTask());
+        pong.start();
+        Thread.sleep(100);
+        assertTrue(pong.isAlive());
+
+        pong.interrupt();
+        pong.join(1000);
+
+        assertFalse(pong.isAlive(), "Ожидающий поток должен завершиться после прерывания");
+    }
+
+    private void runPair(final RendezvousPair pair) throws InterruptedException {
+        Thread ping = new Thread(pair.pingTask());
+        Thread pong = new Thread(pair.pongTask());
+        ping.start();
+        pong.start();
+        ping.join();
+        pong.join();
+    }
+}
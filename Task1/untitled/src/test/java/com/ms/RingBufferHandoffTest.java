@@ -0,0 +1,89 @@
+package com.ms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class RingBufferHandoffTest {
+
+    private static final long ITEMS = 100_000;
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.class)
+    @Timeout(20)
+    public void testItemsArriveInOrder(final WaitStrategy waitStrategy) throws InterruptedException {
+        // Непрерывный опрос на одном ядре отдаёт процессор партнёру только по кванту планировщика
+        assumeTrue(waitStrategy != WaitStrategy.BUSY_SPIN || Runtime.getRuntime().availableProcessors() > 1,
+                "BUSY_SPIN требует хотя бы двух ядер");
+        // Маленький буфер, чтобы производитель постоянно упирался в потребителя
+        final AtomicLong next = new AtomicLong();
+        final AtomicLong outOfOrder = new AtomicLong();
+        RingBufferPingPong pair = new RingBufferPingPong(new RingBufferHandoff(8, waitStrategy), ITEMS,
+                item -> {
+                    if (item != next.getAndIncrement()) {
+                        outOfOrder.incrementAndGet();
+                    }
+                });
+
+        Thread ping = new Thread(pair.pingTask());
+        Thread pong = new Thread(pair.pongTask());
+        ping.start();
+        pong.start();
+        ping.join();
+        pong.join();
+
+        assertEquals(ITEMS, next.get());
+        assertEquals(0, outOfOrder.get());
+    }
+
+    @Test
+    public void testProducerRunsAheadByCapacity() throws InterruptedException {
+        // Без потребителя производитель публикует ровно ёмкость буфера
+        RingBufferHandoff ring = new RingBufferHandoff(4, WaitStrategy.PARK);
+        for (int i = 0; i < 4; i++) {
+            ring.publish(i);
+        }
+        assertEquals(0, ring.take());
+        ring.publish(4);
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, ring.take());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.class)
+    @Timeout(5)
+    public void testWaitingConsumerStopsOnInterrupt(final WaitStrategy waitStrategy) throws InterruptedException {
+        RingBufferHandoff ring = new RingBufferHandoff(waitStrategy);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread pong = new Thread(() -> {
+            try {
+                ring.take();
+            } catch (final InterruptedException e) {
+                thrown.set(e);
+            }
+        });
+        pong.start();
+        Thread.sleep(100);
+        pong.interrupt();
+        pong.join(1000);
+
+        assertFalse(pong.isAlive(), "Ожидающий поток должен завершиться после прерывания");
+        assertEquals(InterruptedException.class, thrown.get().getClass());
+    }
+
+    @Test
+    public void testCapacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferHandoff(0, WaitStrategy.PARK));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferHandoff(12, WaitStrategy.PARK));
+    }
+}
@@ -0,0 +1,38 @@
+package com.ms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ThreadModeTest {
+
+    @Test
+    public void testPlatformThreadRunsTask() throws InterruptedException {
+        AtomicBoolean executed = new AtomicBoolean(false);
+        Thread thread = ThreadMode.PLATFORM.newThread(() -> executed.set(true));
+        thread.start();
+        thread.join(1000);
+
+        assertTrue(ThreadMode.PLATFORM.isSupported());
+        assertTrue(executed.get(), "Задача должна выполниться на потоке платформы");
+    }
+
+    @Test
+    public void testVirtualThreadMatchesJvmSupport() throws InterruptedException {
+        // На Java 21+ виртуальные потоки работают, на старых JVM — понятная ошибка
+        if (ThreadMode.VIRTUAL.isSupported()) {
+            AtomicBoolean executed = new AtomicBoolean(false);
+            Thread thread = ThreadMode.VIRTUAL.newThread(() -> executed.set(true));
+            thread.start();
+            thread.join(1000);
+            assertTrue(executed.get(), "Задача должна выполниться на виртуальном потоке");
+        } else {
+            assertThrows(UnsupportedOperationException.class, () -> ThreadMode.VIRTUAL.newThread(() -> { }));
+        }
+        assertEquals(ThreadMode.VIRTUAL, ThreadMode.valueOf("VIRTUAL"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.ms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TokenRingTest {
+
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    public void setUp() {
+        System.setOut(new PrintStream(outContent));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @Timeout(5)
+    public void testMainRunsStagesInRingOrder() {
+        TokenRing.main(new String[]{"3", "2"});
+
+        assertEquals("Stage-0 Stage-1 Stage-2 Stage-0 Stage-1 Stage-2", outContent.toString());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testDefaultRing() {
+        // По умолчанию 4 стадии и 3 круга
+        TokenRing.main(new String[]{});
+
+        assertEquals(12, outContent.toString().split(" ").length);
+    }
+}
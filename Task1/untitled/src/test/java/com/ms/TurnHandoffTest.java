@@ -0,0 +1,137 @@
+package com.ms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TurnHandoffTest {
+
+    private static final int ROUNDS = 20_000;
+
+    @ParameterizedTest
+    @EnumSource(HandoffStrategy.class)
+    @Timeout(20)
+    public void testTurnsStrictlyAlternate(final HandoffStrategy strategy) throws InterruptedException {
+        // Каждый участник видит только чётные (Ping) или нечётные (Pong) значения счётчика
+        TurnHandoff handoff = strategy.create();
+        AtomicInteger counter = new AtomicInteger();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread ping = new Thread(() -> play(handoff, TurnHandoff.PING, counter, failure));
+        Thread pong = new Thread(() -> play(handoff, TurnHandoff.PONG, counter, failure));
+        ping.start();
+        pong.start();
+        ping.join();
+        pong.join();
+
+        assertNull(failure.get(), failure.get());
+        assertEquals(2 * ROUNDS, counter.get());
+    }
+
+    @ParameterizedTest
+    @EnumSource(HandoffStrategy.class)
+    @Timeout(5)
+    public void testWaitingPartyStopsOnInterrupt(final HandoffStrategy strategy) throws InterruptedException {
+        // Pong ждёт хода, которого не будет, и должен выйти по прерыванию
+        TurnHandoff handoff = strategy.create();
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread pong = new Thread(() -> {
+            try {
+                handoff.awaitTurn(TurnHandoff.PONG);
+            } catch (final InterruptedException e) {
+                thrown.set(e);
+            }
+        });
+        pong.start();
+        Thread.sleep(100);
+        pong.interrupt();
+        pong.join(1000);
+
+        assertFalse(pong.isAlive(), "Ожидающий поток должен завершиться после прерывания");
+        assertEquals(InterruptedException.class, thrown.get().getClass());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testSpinParkWithoutSpinPhase() throws InterruptedException {
+        // maxSpins = 0: участники сразу паркуются, но ходы всё равно чередуются
+        TurnHandoff handoff = new SpinParkHandoff(2, 0);
+        AtomicInteger counter = new AtomicInteger();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread ping = new Thread(() -> play(handoff, TurnHandoff.PING, counter, failure));
+        Thread pong = new Thread(() -> play(handoff, TurnHandoff.PONG, counter, failure));
+        ping.start();
+        pong.start();
+        ping.join();
+        pong.join();
+
+        assertNull(failure.get(), failure.get());
+        assertEquals(2 * ROUNDS, counter.get());
+    }
+
+    @Test
+    public void testSpinParkRejectsNegativeSpins() {
+        assertThrows(IllegalArgumentException.class, () -> new SpinParkHandoff(2, -1));
+    }
+
+    @ParameterizedTest
+    @EnumSource(HandoffStrategy.class)
+    public void testRingNeedsAtLeastTwoParties(final HandoffStrategy strategy) {
+        assertThrows(IllegalArgumentException.class, () -> strategy.create(1));
+    }
+
+    @ParameterizedTest
+    @EnumSource(HandoffStrategy.class)
+    @Timeout(20)
+    public void testRingPassesTokenInOrder(final HandoffStrategy strategy) throws InterruptedException {
+        // Участник i видит только значения счётчика, равные i по модулю числа участников
+        final int parties = 5;
+        TurnHandoff handoff = strategy.create(parties);
+        AtomicInteger counter = new AtomicInteger();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread[] threads = new Thread[parties];
+        for (int i = 0; i < parties; i++) {
+            final int party = i;
+            threads[i] = new Thread(() -> play(handoff, party, counter, failure));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(parties, handoff.parties());
+        assertNull(failure.get(), failure.get());
+        assertEquals(parties * ROUNDS, counter.get());
+    }
+
+    private static void play(final TurnHandoff handoff, final int party, final AtomicInteger counter,
+                             final AtomicReference<String> failure) {
+        for (int i = 0; i < ROUNDS; i++) {
+            try {
+                handoff.awaitTurn(party);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                int value = counter.getAndIncrement();
+                if (value % handoff.parties() != party) {
+                    failure.compareAndSet(null, "Участник " + party + " получил чужой ход: " + value);
+                }
+            } finally {
+                handoff.passTurn(party);
+            }
+        }
+    }
+}
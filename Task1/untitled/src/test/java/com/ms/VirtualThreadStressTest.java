@@ -0,0 +1,56 @@
+package com.ms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadStressTest {
+
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    public void setUp() {
+        // Явная кодировка: при локали C/POSIX кириллица иначе не переживёт вывод
+        System.setOut(new PrintStream(outContent, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @Timeout(30)
+    public void testLockConditionDoesNotPinCarrier() throws Exception {
+        // На платформенных потоках закреплений нет по определению; на Java 21+
+        // проверяем, что ожидание на Condition не закрепляет поток-носитель
+        ThreadMode mode = ThreadMode.VIRTUAL.isSupported() ? ThreadMode.VIRTUAL : ThreadMode.PLATFORM;
+        VirtualThreadStress.Report report = VirtualThreadStress.run(
+                HandoffStrategy.LOCK_CONDITION, mode, 200, 20, Duration.ofSeconds(20));
+
+        assertTrue(report.isCompleted(), report.toString());
+        assertEquals(0, report.getPinnedEvents(), report.toString());
+        assertFalse(report.isCarrierPinned(), report.toString());
+    }
+
+    @Test
+    @Timeout(30)
+    public void testMainPrintsReportPerStrategy() throws Exception {
+        VirtualThreadStress.main(new String[]{"50", "5", "PLATFORM", "SPIN_PARK,MONITOR", "20"});
+
+        String output = outContent.toString(StandardCharsets.UTF_8);
+        assertTrue(output.contains("SPIN_PARK/PLATFORM: пар 50, завершено"), output);
+        assertTrue(output.contains("MONITOR/PLATFORM: пар 50, завершено"), output);
+    }
+}
@@ -0,0 +1,62 @@
+package task2;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// A batch of random polynomials per call: closed forms (3, 4) against Aberth
+// (8, 16), in the calling thread and on a ParallelSolver with one worker per
+// core that forks every batch.
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolynomialBenchmark {
+    @Param({"3", "4", "8", "16"})
+    public int degree;
+
+    @Param({"4096"})
+    public int polynomials;
+
+    private double[] coefficients;
+    private ParallelSolver parallel;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        coefficients = new double[polynomials * (degree + 1)];
+        for (int i = 0; i < coefficients.length; i++) {
+            coefficients[i] = random.nextGaussian();
+        }
+        parallel = new ParallelSolver(Runtime.getRuntime().availableProcessors(), 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallel.close();
+    }
+
+    @Benchmark
+    public PolynomialResult sequential() {
+        return PolynomialSolver.solve(degree, coefficients);
+    }
+
+    @Benchmark
+    public PolynomialResult parallel() {
+        return parallel.solvePolynomials(degree, coefficients);
+    }
+}
@@ -0,0 +1,118 @@
+package task2;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.rmi.NoSuchObjectException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Full RMI round trips: an ExpressionImpl exported on an in-process registry
+// and called through the stub looked up from it, so every call is serialized
+// and goes over loopback TCP like a remote one.
+//
+// Throughput gives calls per millisecond (for batches, multiply by size for
+// equations); SampleTime gives the latency distribution with p0.50 ... p0.9999.
+// Run with -t to add concurrent callers.
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RmiBenchmark {
+    private static final String NAME = "Expression";
+
+    @State(Scope.Benchmark)
+    public static class Remote {
+        Registry registry;
+        ExpressionImpl impl;
+        Expression stub;
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            int port = freePort();
+            registry = LocateRegistry.createRegistry(port);
+            impl = new ExpressionImpl();
+            registry.rebind(NAME, UnicastRemoteObject.exportObject(impl, 0));
+            stub = (Expression) LocateRegistry.getRegistry("localhost", port).lookup(NAME);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws Exception {
+            registry.unbind(NAME);
+            unexport(impl);
+            unexport(registry);
+        }
+
+        private static int freePort() throws IOException {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                return socket.getLocalPort();
+            }
+        }
+
+        private static void unexport(java.rmi.Remote object) {
+            try {
+                UnicastRemoteObject.unexportObject(object, true);
+            } catch (NoSuchObjectException e) {
+                // Already gone
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+        @Param({"1", "16", "256", "4096", "65536"})
+        public int size;
+
+        double[] a;
+        double[] b;
+        double[] c;
+
+        // Mixed branches, as a real batch would have
+        @Setup(Level.Trial)
+        public void fill() {
+            Random random = new Random(42);
+            a = new double[size];
+            b = new double[size];
+            c = new double[size];
+            for (int i = 0; i < size; i++) {
+                a[i] = random.nextInt(4);
+                b[i] = random.nextInt(21) - 10;
+                c[i] = random.nextInt(21) - 10;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Single {
+        int next;
+    }
+
+    @Benchmark
+    public Result solve(Remote remote, Single single) throws Exception {
+        // Two roots, the largest Result on the wire
+        int n = single.next++ & 1023;
+        return remote.stub.solve(1, n + 1, -n);
+    }
+
+    @Benchmark
+    public BatchResult solveBatch(Remote remote, Batch batch) throws Exception {
+        return remote.stub.solveBatch(batch.a, batch.b, batch.c);
+    }
+}
@@ -0,0 +1,98 @@
+package task2;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// ExpressionImpl.solve without RMI, one discriminant branch at a time.
+//
+// Each shape is a table of equations that all take the same branch; MIXED
+// draws them at random so the branch can't be predicted. solve() is the
+// remote method's body, allocation included (see gc.alloc.rate.norm);
+// solveInto() is the same arithmetic into a reused array, i.e. what the
+// allocation costs is the difference between the two.
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SolveBenchmark {
+    private static final int EQUATIONS = 1024;
+    private static final String[] BRANCHES = {"TWO_ROOTS", "ONE_ROOT", "NO_ROOTS", "LINEAR", "NO_ANSWERS"};
+
+    @Param({"TWO_ROOTS", "ONE_ROOT", "NO_ROOTS", "LINEAR", "NO_ANSWERS", "MIXED"})
+    public String shape;
+
+    private final ExpressionImpl expression = new ExpressionImpl();
+    private final double[] a = new double[EQUATIONS];
+    private final double[] b = new double[EQUATIONS];
+    private final double[] c = new double[EQUATIONS];
+    private final double[] roots = new double[2];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < EQUATIONS; i++) {
+            String branch = "MIXED".equals(shape) ? BRANCHES[random.nextInt(BRANCHES.length)] : shape;
+            equation(branch, i, 1 + random.nextInt(1000));
+        }
+    }
+
+    // r is a small integer, so ONE_ROOT's discriminant is exactly zero
+    private void equation(String branch, int i, double r) {
+        switch (branch) {
+            case "TWO_ROOTS":
+                a[i] = 1;
+                b[i] = r + 1;
+                c[i] = -r;
+                break;
+            case "ONE_ROOT":
+                a[i] = 1;
+                b[i] = -2 * r;
+                c[i] = r * r;
+                break;
+            case "NO_ROOTS":
+                a[i] = 1;
+                b[i] = r;
+                c[i] = r * r;
+                break;
+            case "LINEAR":
+                a[i] = 0;
+                b[i] = r;
+                c[i] = -r;
+                break;
+            case "NO_ANSWERS":
+                a[i] = 0;
+                b[i] = 0;
+                c[i] = r;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape " + branch);
+        }
+    }
+
+    @Benchmark
+    public Result solve() throws Exception {
+        int i = next++ & (EQUATIONS - 1);
+        return expression.solve(a[i], b[i], c[i]);
+    }
+
+    @Benchmark
+    public byte solveInto() {
+        int i = next++ & (EQUATIONS - 1);
+        return ExpressionImpl.solveInto(a[i], b[i], c[i], roots, 0);
+    }
+}
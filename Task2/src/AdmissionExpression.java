@@ -0,0 +1,146 @@
+import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Admission control decorator: at most maxInFlight calls run at once, up to
+// backlog more wait in arrival order (each for at most queueTimeout) for a
+// slot, and the rest are answered at once with a BUSY result instead of piling
+// up on RMI connection threads. A BUSY call does no work, so during a spike
+// the admitted calls keep their normal latency and callers learn to back off.
+//
+// Every call takes one slot, whatever its size: a batch is one request.
+public class AdmissionExpression implements Expression {
+    public static final long DEFAULT_QUEUE_TIMEOUT_MILLIS = 100;
+
+    private static final Result BUSY = new Result(Status.BUSY, Double.NaN, Double.NaN);
+
+    private final Expression delegate;
+    private final int maxInFlight;
+    private final int backlog;
+    private final long queueTimeoutNanos;
+    // Fair, so that queued calls are admitted oldest first
+    private final Semaphore slots;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejectedFull = new LongAdder();
+    private final LongAdder rejectedTimeout = new LongAdder();
+
+    public AdmissionExpression(Expression delegate, int maxInFlight, int backlog) {
+        this(delegate, maxInFlight, backlog, DEFAULT_QUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public AdmissionExpression(Expression delegate, int maxInFlight, int backlog, long queueTimeout, TimeUnit unit) {
+        if (maxInFlight <= 0 || backlog < 0 || queueTimeout < 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive, backlog and timeout not negative: "
+                    + maxInFlight + ", " + backlog + ", " + queueTimeout);
+        }
+        this.delegate = delegate;
+        this.maxInFlight = maxInFlight;
+        this.backlog = backlog;
+        this.queueTimeoutNanos = unit.toNanos(queueTimeout);
+        this.slots = new Semaphore(maxInFlight, true);
+    }
+
+    @Override
+    public Result solve(double a, double b, double c) throws RemoteException {
+        if (!admit()) {
+            return BUSY;
+        }
+        try {
+            return delegate.solve(a, b, c);
+        } finally {
+            slots.release();
+        }
+    }
+
+    @Override
+    public BatchResult solveBatch(double[] a, double[] b, double[] c) throws RemoteException {
+        BulkSolver.checkLengths(a, b, c);
+        if (!admit()) {
+            double[] roots = new double[2 * a.length];
+            byte[] status = new byte[a.length];
+            Arrays.fill(roots, Double.NaN);
+            Arrays.fill(status, Status.BUSY.code());
+            return new BatchResult(roots, status);
+        }
+        try {
+            return delegate.solveBatch(a, b, c);
+        } finally {
+            slots.release();
+        }
+    }
+
+    @Override
+    public PolynomialResult solvePolynomials(int degree, double[] coefficients) throws RemoteException {
+        int count = PolynomialSolver.checkShape(degree, coefficients);
+        if (!admit()) {
+            double[] roots = new double[2 * degree * count];
+            byte[] status = new byte[count];
+            Arrays.fill(roots, Double.NaN);
+            Arrays.fill(status, PolynomialStatus.BUSY.code());
+            return new PolynomialResult(degree, roots, status);
+        }
+        try {
+            return delegate.solvePolynomials(degree, coefficients);
+        } finally {
+            slots.release();
+        }
+    }
+
+    // True once the call holds a slot, false if it is to be answered BUSY
+    private boolean admit() {
+        // Timed, unlike tryAcquire(), so it doesn't barge ahead of queued calls
+        if (tryAcquire(0)) {
+            admitted.increment();
+            return true;
+        }
+        if (waiting.incrementAndGet() > backlog) {
+            waiting.decrementAndGet();
+            rejectedFull.increment();
+            return false;
+        }
+        try {
+            queued.increment();
+            if (tryAcquire(queueTimeoutNanos)) {
+                admitted.increment();
+                return true;
+            }
+            rejectedTimeout.increment();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private boolean tryAcquire(long timeoutNanos) {
+        try {
+            return slots.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public int getMaxInFlight() { return maxInFlight; }
+    public int getBacklog() { return backlog; }
+    public int getInFlight() { return maxInFlight - slots.availablePermits(); }
+    public int getWaiting() { return waiting.get(); }
+    public long getAdmitted() { return admitted.sum(); }
+    // Admitted or not, calls that had to wait for a slot
+    public long getQueued() { return queued.sum(); }
+    public long getRejectedBacklogFull() { return rejectedFull.sum(); }
+    public long getRejectedTimeout() { return rejectedTimeout.sum(); }
+    public long getRejected() { return getRejectedBacklogFull() + getRejectedTimeout(); }
+
+    @Override
+    public String toString() {
+        return String.format("Admission: %d in flight (max %d), %d waiting (max %d), %d admitted, %d queued,"
+                        + " %d rejected (%d backlog full, %d timed out)",
+                getInFlight(), maxInFlight, getWaiting(), backlog, getAdmitted(), getQueued(),
+                getRejected(), getRejectedBacklogFull(), getRejectedTimeout());
+    }
+}
@@ -0,0 +1,98 @@
+import java.rmi.RemoteException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+// Asynchronous facade over an Expression stub. Each call runs the blocking RMI
+// invocation on a worker and completes the returned future with its Result.
+// At most maxInFlight calls are outstanding: further submits block the caller
+// (solveAsync) or fail fast (trySolveAsync) until a call finishes.
+//
+// Workers are virtual threads when the JVM has them (Java 21+), otherwise a
+// fixed pool of maxInFlight platform threads.
+public class AsyncExpression implements AutoCloseable {
+    private final Expression stub;
+    private final Semaphore inFlight;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+
+    public AsyncExpression(Expression stub, int maxInFlight) {
+        this(stub, maxInFlight, defaultExecutor(maxInFlight), true);
+    }
+
+    public AsyncExpression(Expression stub, int maxInFlight, ExecutorService executor) {
+        this(stub, maxInFlight, executor, false);
+    }
+
+    private AsyncExpression(Expression stub, int maxInFlight, ExecutorService executor, boolean ownsExecutor) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.stub = stub;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    // Waits for a free slot, then submits the call
+    public CompletableFuture<Result> solveAsync(double a, double b, double c) throws InterruptedException {
+        inFlight.acquire();
+        return submit(a, b, c);
+    }
+
+    // Submits the call if a slot is free, otherwise returns null
+    public CompletableFuture<Result> trySolveAsync(double a, double b, double c) {
+        return inFlight.tryAcquire() ? submit(a, b, c) : null;
+    }
+
+    public int available() { return inFlight.availablePermits(); }
+
+    private CompletableFuture<Result> submit(double a, double b, double c) {
+        CompletableFuture<Result> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return stub.solve(a, b, c);
+                } catch (RemoteException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            // Executor rejected the task: give the slot back
+            inFlight.release();
+            throw e;
+        }
+        return future.whenComplete((result, error) -> inFlight.release());
+    }
+
+    // Waits up to a minute for calls in flight; if interrupted, cancels them
+    // and keeps the interrupt for the caller
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static ExecutorService defaultExecutor(int maxInFlight) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            ThreadFactory factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                    .getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(maxInFlight);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+import java.io.Serializable;
+
+// Results of solveBatch packed into primitive arrays: equation i has status[i]
+// and roots at roots[2 * i] and roots[2 * i + 1] (NaN where there is no root).
+public class BatchResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final double[] roots;
+    private final byte[] status;
+
+    public BatchResult(double[] roots, byte[] status) {
+        if (roots.length != 2 * status.length) {
+            throw new IllegalArgumentException("Expected " + 2 * status.length + " roots, got " + roots.length);
+        }
+        this.roots = roots;
+        this.status = status;
+    }
+
+    public int size() { return status.length; }
+    public double[] getRoots() { return roots; }
+    public byte[] getStatus() { return status; }
+
+    public Status getStatus(int i) { return Status.fromCode(status[i]); }
+    public double getX1(int i) { return roots[2 * i]; }
+    public double getX2(int i) { return roots[2 * i + 1]; }
+
+    public Result toResult(int i) {
+        return new Result(getStatus(i), getX1(i), getX2(i));
+    }
+}
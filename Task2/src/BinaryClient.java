@@ -0,0 +1,250 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Pipelining client for BinaryServer. Requests are encoded into a direct
+// buffer and sent when it fills up or on flush(), so many of them share a
+// write; one reader thread completes the returned futures by request id in
+// whatever order responses arrive. The blocking solve/solveBatch flush
+// immediately. Safe for use from several threads.
+public class BinaryClient implements Closeable {
+    private static final int BUFFER_BYTES = 64 << 10;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final Map<Long, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+    private final Thread reader;
+    private long nextId;
+    private volatile IOException failure;
+
+    public BinaryClient(String host, int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.socket().setTcpNoDelay(true);
+        reader = new Thread(this::readLoop, "binary-client-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    // Queues the request; it is sent when the buffer fills up or on flush()
+    public CompletableFuture<Result> solveAsync(double a, double b, double c) throws IOException {
+        synchronized (out) {
+            long id = nextId++;
+            CompletableFuture<Object> future = register(id);
+            if (out.remaining() < BinaryProtocol.LENGTH_BYTES + BinaryProtocol.SOLVE_REQUEST_BYTES) {
+                flushLocked();
+            }
+            BinaryProtocol.putSolveRequest(out, id, a, b, c);
+            return future.thenApply(Result.class::cast);
+        }
+    }
+
+    public CompletableFuture<BatchResult> solveBatchAsync(double[] a, double[] b, double[] c) throws IOException {
+        BulkSolver.checkLengths(a, b, c);
+        if (a.length > BinaryProtocol.MAX_BATCH) {
+            throw new IllegalArgumentException("Batch of " + a.length + " equations exceeds the limit of "
+                    + BinaryProtocol.MAX_BATCH);
+        }
+        int frameBytes = BinaryProtocol.LENGTH_BYTES + BinaryProtocol.batchRequestBytes(a.length);
+        synchronized (out) {
+            long id = nextId++;
+            CompletableFuture<Object> future = register(id);
+            if (out.remaining() < frameBytes) {
+                flushLocked();
+            }
+            if (frameBytes <= out.capacity()) {
+                BinaryProtocol.putBatchRequest(out, id, a, b, c);
+            } else {
+                ByteBuffer frame = ByteBuffer.allocate(frameBytes);
+                BinaryProtocol.putBatchRequest(frame, id, a, b, c);
+                writeFully(frame.flip());
+            }
+            return future.thenApply(BatchResult.class::cast);
+        }
+    }
+
+    public Result solve(double a, double b, double c) throws IOException {
+        CompletableFuture<Result> future = solveAsync(a, b, c);
+        flush();
+        return await(future);
+    }
+
+    public BatchResult solveBatch(double[] a, double[] b, double[] c) throws IOException {
+        CompletableFuture<BatchResult> future = solveBatchAsync(a, b, c);
+        flush();
+        return await(future);
+    }
+
+    public void flush() throws IOException {
+        synchronized (out) {
+            flushLocked();
+        }
+    }
+
+    public int getPending() { return pending.size(); }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Object> register(long id) throws IOException {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        pending.put(id, future);
+        // The reader may have failed everything just before the put
+        IOException error = failure;
+        if (error != null) {
+            pending.remove(id);
+            throw error;
+        }
+        return future;
+    }
+
+    private void flushLocked() throws IOException {
+        out.flip();
+        try {
+            writeFully(out);
+        } finally {
+            out.clear();
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            // Part of a frame may have gone out: the stream is unusable
+            fail(e);
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void readLoop() {
+        ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        try {
+            while (channel.read(in) >= 0) {
+                in.flip();
+                int needed = 0;
+                while (in.remaining() >= BinaryProtocol.LENGTH_BYTES) {
+                    int length = in.getInt(in.position());
+                    if (length < BinaryProtocol.HEADER_BYTES || length > BinaryProtocol.MAX_FRAME_BYTES) {
+                        throw new ProtocolException("Bad frame length " + length);
+                    }
+                    if (in.remaining() < BinaryProtocol.LENGTH_BYTES + length) {
+                        needed = length;
+                        break;
+                    }
+                    int end = in.position() + BinaryProtocol.LENGTH_BYTES + length;
+                    in.position(in.position() + BinaryProtocol.LENGTH_BYTES);
+                    receive(in);
+                    in.position(end);
+                }
+                in.compact();
+                in = BinaryProtocol.ensureCapacity(in, needed);
+            }
+            fail(new IOException("Connection closed by server"));
+        } catch (IOException | RuntimeException e) {
+            fail(e instanceof IOException ? (IOException) e : new IOException(e));
+        }
+    }
+
+    private void receive(ByteBuffer in) throws ProtocolException {
+        long id = in.getLong();
+        byte op = in.get();
+        CompletableFuture<Object> future = pending.remove(id);
+        if (future == null) {
+            throw new ProtocolException("Response to unknown request " + id);
+        }
+        if (op == BinaryProtocol.SOLVE) {
+            Status status = Status.fromCode(in.get());
+            future.complete(new Result(status, in.getDouble(), in.getDouble()));
+        } else if (op == BinaryProtocol.SOLVE_BATCH) {
+            int n = in.getInt();
+            byte[] status = new byte[n];
+            in.get(status);
+            future.complete(new BatchResult(BinaryProtocol.getDoubles(in, 2 * n), status));
+        } else if (op == BinaryProtocol.ERROR) {
+            future.completeExceptionally(new IOException("Server error: " + BinaryProtocol.getMessage(in)));
+        } else {
+            throw new ProtocolException("Unknown op " + op);
+        }
+    }
+
+    private void fail(IOException error) {
+        failure = error;
+        for (Long id : pending.keySet()) {
+            CompletableFuture<Object> future = pending.remove(id);
+            if (future != null) {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // Load generator: pipelines count single solves in windows, then the same
+    // equations as batches, and reports the rate of each
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 1100;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 1_000_000;
+        int window = 10_000;
+        List<CompletableFuture<Result>> futures = new ArrayList<>(window);
+        try (BinaryClient client = new BinaryClient(host, port)) {
+            System.out.println("Solve: " + client.solve(1, -3, 2));
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                for (int done = 0; done < count; done += window) {
+                    for (int i = 0; i < window; i++) {
+                        futures.add(client.solveAsync(1, -3, i));
+                    }
+                    client.flush();
+                    for (CompletableFuture<Result> future : futures) {
+                        await(future);
+                    }
+                    futures.clear();
+                }
+                long pipelined = System.nanoTime() - start;
+
+                double[] a = new double[window];
+                double[] b = new double[window];
+                double[] c = new double[window];
+                Arrays.fill(a, 1);
+                Arrays.fill(b, -3);
+                start = System.nanoTime();
+                for (int done = 0; done < count; done += window) {
+                    client.solveBatch(a, b, c);
+                }
+                long batched = System.nanoTime() - start;
+                System.out.printf("%d solves: pipelined %.0f/s, batched %.0f/s%n",
+                        count, count * 1e9 / pipelined, count * 1e9 / batched);
+            }
+        }
+    }
+}
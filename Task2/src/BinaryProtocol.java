@@ -0,0 +1,106 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Length-prefixed binary framing shared by BinaryServer and BinaryClient.
+// Every frame is an int body length followed by the body; all numbers are
+// big-endian.
+//
+// Request body:  long id, byte op, payload
+//   SOLVE        double a, double b, double c
+//   SOLVE_BATCH  int n, n doubles a, n doubles b, n doubles c
+// Response body: long id (of the request), byte op, payload
+//   SOLVE        byte status, double x1, double x2 (NaN where there is no root)
+//   SOLVE_BATCH  int n, n status bytes, 2n roots as in BatchResult
+//   ERROR        short length, UTF-8 message
+//
+// Requests may be pipelined; responses carry the request id and may come back
+// in any order.
+final class BinaryProtocol {
+    static final byte SOLVE = 1;
+    static final byte SOLVE_BATCH = 2;
+    static final byte ERROR = -1;
+
+    static final int LENGTH_BYTES = Integer.BYTES;
+    static final int HEADER_BYTES = Long.BYTES + 1;
+    static final int SOLVE_REQUEST_BYTES = HEADER_BYTES + 3 * Double.BYTES;
+    static final int SOLVE_RESPONSE_BYTES = HEADER_BYTES + 1 + 2 * Double.BYTES;
+
+    // Bounds the buffer a peer can make us allocate
+    static final int MAX_FRAME_BYTES = 64 << 20;
+    static final int MAX_BATCH = (MAX_FRAME_BYTES - HEADER_BYTES - Integer.BYTES) / (3 * Double.BYTES);
+
+    private static final int MAX_MESSAGE_BYTES = 1024;
+
+    private BinaryProtocol() {}
+
+    static int batchRequestBytes(int n) {
+        return HEADER_BYTES + Integer.BYTES + 3 * n * Double.BYTES;
+    }
+
+    static int batchResponseBytes(int n) {
+        return HEADER_BYTES + Integer.BYTES + n + 2 * n * Double.BYTES;
+    }
+
+    static void putSolveRequest(ByteBuffer out, long id, double a, double b, double c) {
+        out.putInt(SOLVE_REQUEST_BYTES).putLong(id).put(SOLVE);
+        out.putDouble(a).putDouble(b).putDouble(c);
+    }
+
+    static void putBatchRequest(ByteBuffer out, long id, double[] a, double[] b, double[] c) {
+        out.putInt(batchRequestBytes(a.length)).putLong(id).put(SOLVE_BATCH).putInt(a.length);
+        out.asDoubleBuffer().put(a).put(b).put(c);
+        out.position(out.position() + 3 * a.length * Double.BYTES);
+    }
+
+    static void putSolveResponse(ByteBuffer out, long id, Result result) {
+        out.putInt(SOLVE_RESPONSE_BYTES).putLong(id).put(SOLVE).put(result.getStatus().code());
+        out.putDouble(result.getX1() != null ? result.getX1() : Double.NaN);
+        out.putDouble(result.getX2() != null ? result.getX2() : Double.NaN);
+    }
+
+    static void putBatchResponse(ByteBuffer out, long id, BatchResult result) {
+        out.putInt(batchResponseBytes(result.size())).putLong(id).put(SOLVE_BATCH).putInt(result.size());
+        out.put(result.getStatus());
+        out.asDoubleBuffer().put(result.getRoots());
+        out.position(out.position() + result.getRoots().length * Double.BYTES);
+    }
+
+    static ByteBuffer errorResponse(long id, Throwable error) {
+        String text = String.valueOf(error);
+        byte[] message = text.getBytes(StandardCharsets.UTF_8);
+        if (message.length > MAX_MESSAGE_BYTES) {
+            message = text.substring(0, MAX_MESSAGE_BYTES / 4).getBytes(StandardCharsets.UTF_8);
+        }
+        ByteBuffer out = ByteBuffer.allocate(LENGTH_BYTES + HEADER_BYTES + Short.BYTES + message.length);
+        out.putInt(out.capacity() - LENGTH_BYTES).putLong(id).put(ERROR);
+        out.putShort((short) message.length).put(message);
+        return out.flip();
+    }
+
+    static String getMessage(ByteBuffer in) {
+        byte[] message = new byte[in.getShort()];
+        in.get(message);
+        return new String(message, StandardCharsets.UTF_8);
+    }
+
+    static double[] getDoubles(ByteBuffer in, int n) {
+        double[] values = new double[n];
+        in.asDoubleBuffer().get(values);
+        in.position(in.position() + n * Double.BYTES);
+        return values;
+    }
+
+    // Returns a buffer, in write mode like `in`, with the same contents and room
+    // for a whole frame of frameBytes starting at index 0 (callers compact
+    // before growing). Direct buffers stay direct.
+    static ByteBuffer ensureCapacity(ByteBuffer in, int frameBytes) {
+        int needed = LENGTH_BYTES + frameBytes;
+        if (needed <= in.capacity()) {
+            return in;
+        }
+        int capacity = Integer.highestOneBit(needed - 1) << 1;
+        ByteBuffer bigger = in.isDirect() ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        in.flip();
+        return bigger.put(in);
+    }
+}
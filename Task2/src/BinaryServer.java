@@ -0,0 +1,303 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+// Serves an Expression over BinaryProtocol on non-blocking sockets, alongside
+// (or instead of) RMI.
+//
+// One selector thread (run()) owns all connections. Single solves are answered
+// inline into a per-connection direct buffer, so a pipelined stream of them
+// costs one read and one write syscall per buffer, not per request. Batches are
+// handed to batchExecutor and their responses queued back to the selector when
+// done, overtaking or trailing other responses on the same connection.
+//
+// While a connection's responses can't be written, or it has
+// MAX_BATCHES_IN_FLIGHT batches being solved or waiting to be sent, the server
+// stops reading its requests, so a slow or greedy client throttles itself
+// rather than the server's memory. batchExecutor should have a bounded queue:
+// batches it rejects are answered with an error.
+public class BinaryServer implements Runnable, Closeable {
+    private static final int BUFFER_BYTES = 64 << 10;
+    // Room for any inline response, error messages included
+    private static final int RESPONSE_RESERVE = 2048;
+    // Per connection: decoded batches hold up to 3 * 64 MB of coefficients each
+    private static final int MAX_BATCHES_IN_FLIGHT = 2;
+
+    private final Expression service;
+    private final Executor batchExecutor;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Queue<Connection> completed = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+
+    public BinaryServer(Expression service, int port, Executor batchExecutor) throws IOException {
+        this.service = service;
+        this.batchExecutor = batchExecutor;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public int getPort() { return server.socket().getLocalPort(); }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Connection done;
+                while ((done = completed.poll()) != null) {
+                    service(done);
+                }
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        read((Connection) key.attachment());
+                    } else {
+                        service((Connection) key.attachment());
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                System.err.println("Binary server stopped: " + e);
+            }
+        } finally {
+            shutdown();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void accept() {
+        SocketChannel channel = null;
+        try {
+            channel = server.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        } catch (IOException e) {
+            System.err.println("Binary server failed to accept a connection: " + e);
+            closeQuietly(channel);
+        }
+    }
+
+    private void read(Connection connection) {
+        try {
+            if (connection.channel.read(connection.in) < 0) {
+                connection.close();
+                return;
+            }
+        } catch (IOException e) {
+            connection.close();
+            return;
+        }
+        service(connection);
+    }
+
+    // Writes what is pending, answers buffered requests, and reads more only
+    // once everything has been written and the connection is under its batch
+    // limit. At the limit it waits, neither reading nor writing, for a batch
+    // to complete.
+    private void service(Connection connection) {
+        if (!connection.key.isValid()) {
+            return;
+        }
+        try {
+            boolean written = connection.flush();
+            if (written) {
+                process(connection);
+                written = connection.flush();
+            }
+            connection.key.interestOps(!written ? SelectionKey.OP_WRITE
+                    : connection.batches >= MAX_BATCHES_IN_FLIGHT ? 0 : SelectionKey.OP_READ);
+        } catch (IOException e) {
+            connection.close();
+        }
+    }
+
+    // Handles every complete request in connection.in, stopping early if
+    // responses can't be written yet or a batch would exceed the limit
+    private void process(Connection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        int needed = 0;
+        in.flip();
+        try {
+            while (in.remaining() >= BinaryProtocol.LENGTH_BYTES) {
+                int start = in.position();
+                int length = in.getInt(start);
+                if (length < BinaryProtocol.HEADER_BYTES || length > BinaryProtocol.MAX_FRAME_BYTES) {
+                    throw new ProtocolException("Bad frame length " + length);
+                }
+                if (in.remaining() < BinaryProtocol.LENGTH_BYTES + length) {
+                    needed = length;
+                    break;
+                }
+                byte op = in.get(start + BinaryProtocol.LENGTH_BYTES + Long.BYTES);
+                if (op == BinaryProtocol.SOLVE_BATCH && connection.batches >= MAX_BATCHES_IN_FLIGHT
+                        || !connection.reserve(RESPONSE_RESERVE)) {
+                    break;
+                }
+                in.position(start + BinaryProtocol.LENGTH_BYTES);
+                handle(connection, length, in);
+                in.position(start + BinaryProtocol.LENGTH_BYTES + length);
+            }
+        } finally {
+            in.compact();
+        }
+        connection.in = BinaryProtocol.ensureCapacity(in, needed);
+    }
+
+    private void handle(Connection connection, int length, ByteBuffer in) throws ProtocolException {
+        long id = in.getLong();
+        byte op = in.get();
+        if (op == BinaryProtocol.SOLVE && length == BinaryProtocol.SOLVE_REQUEST_BYTES) {
+            try {
+                Result result = service.solve(in.getDouble(), in.getDouble(), in.getDouble());
+                BinaryProtocol.putSolveResponse(connection.out, id, result);
+            } catch (Exception e) {
+                connection.out.put(BinaryProtocol.errorResponse(id, e));
+            }
+        } else if (op == BinaryProtocol.SOLVE_BATCH && length >= BinaryProtocol.batchRequestBytes(0)) {
+            int n = in.getInt();
+            if (n < 0 || n > BinaryProtocol.MAX_BATCH || length != BinaryProtocol.batchRequestBytes(n)) {
+                throw new ProtocolException("Bad batch size " + n + " for length " + length);
+            }
+            double[] a = BinaryProtocol.getDoubles(in, n);
+            double[] b = BinaryProtocol.getDoubles(in, n);
+            double[] c = BinaryProtocol.getDoubles(in, n);
+            connection.batches++;
+            try {
+                batchExecutor.execute(() -> complete(connection, solveBatch(id, a, b, c)));
+            } catch (RejectedExecutionException e) {
+                connection.batches--;
+                connection.out.put(BinaryProtocol.errorResponse(id, e));
+            }
+        } else {
+            throw new ProtocolException("Bad request: op " + op + ", length " + length);
+        }
+    }
+
+    private ByteBuffer solveBatch(long id, double[] a, double[] b, double[] c) {
+        try {
+            BatchResult result = service.solveBatch(a, b, c);
+            ByteBuffer response = ByteBuffer.allocate(BinaryProtocol.LENGTH_BYTES
+                    + BinaryProtocol.batchResponseBytes(result.size()));
+            BinaryProtocol.putBatchResponse(response, id, result);
+            return response.flip();
+        } catch (Exception e) {
+            return BinaryProtocol.errorResponse(id, e);
+        }
+    }
+
+    // Called from batch workers
+    private void complete(Connection connection, ByteBuffer response) {
+        connection.responses.add(response);
+        completed.add(connection);
+        selector.wakeup();
+    }
+
+    private void shutdown() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection) {
+                ((Connection) key.attachment()).close();
+            }
+        }
+        try {
+            server.close();
+            selector.close();
+        } catch (IOException e) {
+            System.err.println("Error closing binary server: " + e);
+        }
+    }
+
+    private static class Connection {
+        final SocketChannel channel;
+        SelectionKey key;
+        // Both in write mode, except out while it is being sent
+        ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        // Batch responses from workers, ready to send
+        final Queue<ByteBuffer> responses = new ConcurrentLinkedQueue<>();
+        ByteBuffer sending;
+        // Batches submitted and not yet taken from responses; selector thread only
+        int batches;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        // Makes room for `bytes` more in out; false if that needs a write the
+        // socket can't take yet
+        boolean reserve(int bytes) throws IOException {
+            return sending == null && out.remaining() >= bytes || flush() && out.remaining() >= bytes;
+        }
+
+        // Sends whole frames only, one buffer at a time; false if the socket is full
+        boolean flush() throws IOException {
+            while (true) {
+                if (sending == null) {
+                    sending = responses.poll();
+                    if (sending != null) {
+                        batches--;
+                    } else {
+                        if (out.position() == 0) {
+                            return true;
+                        }
+                        sending = out.flip();
+                    }
+                }
+                channel.write(sending);
+                if (sending.hasRemaining()) {
+                    return false;
+                }
+                if (sending == out) {
+                    out.clear();
+                }
+                sending = null;
+            }
+        }
+
+        void close() {
+            key.cancel();
+            closeQuietly(channel);
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to do with this connection
+        }
+    }
+}
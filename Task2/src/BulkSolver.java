@@ -0,0 +1,83 @@
+// Bulk quadratic solver laid out for the JIT's auto-vectorizer.
+//
+// Large batches are processed in blocks. The first pass computes the discriminant
+// and both quadratic roots for every equation with straight-line arithmetic
+// over plain arrays (no branches, no interleaved stores), which C2 compiles to
+// SIMD (packed mul/sub/sqrt/div). The second pass sets the status from the sign
+// of the discriminant, hands the rare linear and double-root cases to the
+// scalar kernel, and interleaves the roots into the BatchResult layout, so
+// results match solve() exactly (up to the bit pattern of NaN).
+public final class BulkSolver {
+    // Below this the extra pass and scratch arrays cost more than SIMD saves
+    static final int MIN_BULK = 1 << 15;
+    private static final int BLOCK = 256;
+
+    private static final byte NO_ROOTS = Status.NO_ROOTS.code();
+    private static final byte TWO_ROOTS = Status.TWO_ROOTS.code();
+
+    private BulkSolver() {}
+
+    public static BatchResult solve(double[] a, double[] b, double[] c) {
+        checkLengths(a, b, c);
+        double[] roots = new double[2 * a.length];
+        byte[] status = new byte[a.length];
+        solve(a, b, c, 0, a.length, roots, status);
+        return new BatchResult(roots, status);
+    }
+
+    static void checkLengths(double[] a, double[] b, double[] c) {
+        if (a.length != b.length || a.length != c.length) {
+            throw new IllegalArgumentException("Coefficient arrays differ in length: "
+                    + a.length + ", " + b.length + ", " + c.length);
+        }
+    }
+
+    // Solves equations [from, to) into the BatchResult layout
+    static void solve(double[] a, double[] b, double[] c, int from, int to, double[] roots, byte[] status) {
+        if (to - from < MIN_BULK) {
+            for (int i = from; i < to; i++) {
+                status[i] = ExpressionImpl.solveInto(a[i], b[i], c[i], roots, 2 * i);
+            }
+            return;
+        }
+        double[] d = new double[BLOCK];
+        double[] x1 = new double[BLOCK];
+        double[] x2 = new double[BLOCK];
+        for (int start = from; start < to; start += BLOCK) {
+            int len = Math.min(BLOCK, to - start);
+            roots(a, b, c, start, len, d, x1, x2);
+            classify(a, b, c, start, len, d, x1, x2, roots, status);
+        }
+    }
+
+    // Vectorizable pass. For d < 0 the square root is NaN, and so are both
+    // roots, which is what solve() reports; a == 0 is patched by classify()
+    private static void roots(double[] a, double[] b, double[] c, int from, int len,
+                              double[] d, double[] x1, double[] x2) {
+        for (int i = 0; i < len; i++) {
+            double ai = a[from + i];
+            double bi = b[from + i];
+            double di = bi * bi - 4 * ai * c[from + i];
+            double sqrtD = Math.sqrt(di);
+            d[i] = di;
+            x1[i] = (-bi + sqrtD) / (2 * ai);
+            x2[i] = (-bi - sqrtD) / (2 * ai);
+        }
+    }
+
+    private static void classify(double[] a, double[] b, double[] c, int from, int len,
+                                 double[] d, double[] x1, double[] x2, double[] roots, byte[] status) {
+        for (int i = 0; i < len; i++) {
+            int j = from + i;
+            if (a[j] == 0 || d[i] == 0) {
+                // Rare lanes go through the scalar kernel: (-b + 0.0) in roots()
+                // would lose the sign of a zero double root
+                status[j] = ExpressionImpl.solveInto(a[j], b[j], c[j], roots, 2 * j);
+                continue;
+            }
+            status[j] = d[i] < 0 ? NO_ROOTS : TWO_ROOTS;
+            roots[2 * j] = x1[i];
+            roots[2 * j + 1] = x2[i];
+        }
+    }
+}
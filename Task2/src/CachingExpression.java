@@ -0,0 +1,138 @@
+import java.rmi.RemoteException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded memoizing decorator for solve(). Entries are keyed on the bit patterns
+// of (a, b, c) and spread over independently locked LRU stripes, so concurrent
+// callers only contend when they hit the same stripe. A hit returns the cached
+// Result instance itself: Result is never modified after construction.
+// solveBatch() and solvePolynomials() are passed through uncached.
+public class CachingExpression implements Expression {
+    private static final int DEFAULT_STRIPES = 16;
+
+    private final Expression delegate;
+    private final Stripe[] stripes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingExpression(Expression delegate, int capacity) {
+        this(delegate, capacity, DEFAULT_STRIPES);
+    }
+
+    public CachingExpression(Expression delegate, int capacity, int stripeCount) {
+        if (capacity <= 0 || stripeCount <= 0 || Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Capacity must be positive and stripes a power of two: "
+                    + capacity + ", " + stripeCount);
+        }
+        this.delegate = delegate;
+        this.stripes = new Stripe[stripeCount];
+        int perStripe = Math.max(1, (capacity + stripeCount - 1) / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    @Override
+    public Result solve(double a, double b, double c) throws RemoteException {
+        Key key = new Key(a, b, c);
+        Stripe stripe = stripes[key.hashCode() & (stripes.length - 1)];
+        Result result;
+        synchronized (stripe) {
+            result = stripe.get(key);
+        }
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        // Computed outside the lock; a concurrent miss on the same key just stores an equal Result
+        result = delegate.solve(a, b, c);
+        if (result.getStatus() == Status.BUSY) {
+            // Not an answer: the next call may get through
+            return result;
+        }
+        synchronized (stripe) {
+            stripe.put(key, result);
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult solveBatch(double[] a, double[] b, double[] c) throws RemoteException {
+        return delegate.solveBatch(a, b, c);
+    }
+
+    @Override
+    public PolynomialResult solvePolynomials(int degree, double[] coefficients) throws RemoteException {
+        return delegate.solvePolynomials(degree, coefficients);
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        long h = getHits();
+        long m = getMisses();
+        return String.format("Cache: %d entries, %d hits, %d misses, hit rate %.1f%%",
+                size(), h, m, h + m == 0 ? 0.0 : 100.0 * h / (h + m));
+    }
+
+    private static final class Stripe extends LinkedHashMap<Key, Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static final class Key {
+        private final long a;
+        private final long b;
+        private final long c;
+        private final int hash;
+
+        Key(double a, double b, double c) {
+            this.a = Double.doubleToLongBits(a);
+            this.b = Double.doubleToLongBits(b);
+            this.c = Double.doubleToLongBits(c);
+            long h = this.a * 31 * 31 + this.b * 31 + this.c;
+            h ^= h >>> 32;
+            h *= 0x9E3779B97F4A7C15L;
+            this.hash = (int) (h ^ (h >>> 29));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return a == k.a && b == k.b && c == k.c;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
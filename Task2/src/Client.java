@@ -1,40 +1,72 @@
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class Client {
     private Client() {}
 
+    // Optional arguments: registries of several servers as host:port, to balance
+    // the calls across; without them the server on the local registry is used
     public static void main(String[] args) {
+        ExpressionCluster cluster = null;
         try {
             System.out.println();
 
-            Registry registry = LocateRegistry.getRegistry(null);
-            Expression stub = (Expression) registry.lookup("Expression");
-            double a = 1, b = -3, c = 2;
+            Expression stub;
+            if (args.length > 0) {
+                cluster = new ExpressionCluster(Arrays.asList(args));
+                stub = cluster;
+            } else {
+                Registry registry = LocateRegistry.getRegistry(null);
+                stub = (Expression) registry.lookup("Expression");
+            }
+            double[][] equations = {{1, -3, 2}, {1, 2, 1}, {3, 2, 1}};
 
-            Result result = stub.solve(a, b, c);
-            System.out.println("Solve: " + result);
-            System.out.println("Comment: " + result.getMessage());
-            System.out.println();
+            // All three calls are in flight at once
+            try (AsyncExpression async = new AsyncExpression(stub, equations.length)) {
+                List<CompletableFuture<Result>> futures = new ArrayList<>();
+                for (double[] e : equations) {
+                    futures.add(async.solveAsync(e[0], e[1], e[2]));
+                }
+                for (CompletableFuture<Result> future : futures) {
+                    Result result = future.join();
+                    System.out.println("Solve: " + result);
+                    System.out.println("Comment: " + result.getMessage());
+                    System.out.println();
+                }
+            }
 
-            a = 1;
-            b = 2;
-            c = 1;
-            result = stub.solve(a, b, c);
-            System.out.println("Solve: " + result);
-            System.out.println("Comment: " + result.getMessage());
+            // All of the above in one round trip
+            BatchResult batch = stub.solveBatch(
+                    new double[] {1, 1, 3, 0, 0},
+                    new double[] {-3, 2, 2, 2, 0},
+                    new double[] {2, 1, 1, -4, 1});
+            for (int i = 0; i < batch.size(); i++) {
+                Result r = batch.toResult(i);
+                System.out.println("Batch " + i + ": " + r + " (" + r.getMessage() + ")");
+            }
             System.out.println();
 
-            a = 3;
-            b = 2;
-            c = 1;
-            result = stub.solve(a, b, c);
-            System.out.println("Solve: " + result);
-            System.out.println("Comment: " + result.getMessage());
+            // x^3 - 6x^2 + 11x - 6 and x^5 - 1, one polynomial per degree per call
+            PolynomialResult cubic = stub.solvePolynomials(3, new double[] {1, -6, 11, -6});
+            System.out.println("Cubic: " + cubic.toString(0));
+            PolynomialResult quintic = stub.solvePolynomials(5, new double[] {1, 0, 0, 0, 0, -1});
+            System.out.println("Quintic: " + quintic.toString(0));
             System.out.println();
+            if (cluster != null) {
+                System.out.println(cluster);
+            }
         }
         catch (Exception e) {
             System.err.println("Error: " + e);
         }
+        finally {
+            if (cluster != null) {
+                cluster.close();
+            }
+        }
     }
 }
@@ -3,4 +3,11 @@ import java.rmi.RemoteException;
 
 public interface Expression extends Remote {
     Result solve(double a, double b, double c) throws RemoteException;
+
+    // Solves a[i] x^2 + b[i] x + c[i] = 0 for every i in one round trip.
+    BatchResult solveBatch(double[] a, double[] b, double[] c) throws RemoteException;
+
+    // Finds the complex roots of coefficients.length / (degree + 1) polynomials
+    // of the given degree, each given highest power first.
+    PolynomialResult solvePolynomials(int degree, double[] coefficients) throws RemoteException;
 }
@@ -0,0 +1,228 @@
+import java.io.Closeable;
+import java.rmi.ConnectException;
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+// Client-side load balancer over several Expression servers, each found
+// through its own RMI registry ("host:port", or "host" for the default port).
+// Stubs are looked up once and cached. Each call goes to the healthy server
+// with the fewest calls in flight from this client, so a slow or overloaded
+// server gets less traffic by itself.
+//
+// A server whose call fails with a RemoteException is retired at once and the
+// call retried on the next one; all calls are idempotent. A BUSY answer is
+// retried on the other servers too, and returned only if they are all busy.
+// Every checkInterval each server is looked up again if retired and probed
+// with a solve: retired servers that answer are put back, healthy ones that
+// don't are retired before a caller has to find out.
+public class ExpressionCluster implements Expression, Closeable {
+    public static final String DEFAULT_NAME = "Expression";
+    public static final long DEFAULT_CHECK_INTERVAL_MILLIS = 1000;
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final String name;
+    private final ScheduledExecutorService checker;
+
+    public ExpressionCluster(List<String> addresses) {
+        this(addresses, DEFAULT_NAME, DEFAULT_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public ExpressionCluster(List<String> addresses, String name, long checkInterval, TimeUnit unit) {
+        if (addresses.isEmpty() || checkInterval <= 0) {
+            throw new IllegalArgumentException("Need at least one address and a positive check interval: "
+                    + addresses + ", " + checkInterval);
+        }
+        for (String address : addresses) {
+            endpoints.add(Endpoint.parse(address));
+        }
+        this.name = name;
+        // One thread per server, so that a hung one only delays its own checks
+        AtomicInteger threads = new AtomicInteger();
+        this.checker = Executors.newScheduledThreadPool(endpoints.size(), task -> {
+            Thread thread = new Thread(task, "expression-health-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Endpoint endpoint : endpoints) {
+            check(endpoint);
+            checker.scheduleWithFixedDelay(() -> check(endpoint), checkInterval, checkInterval, unit);
+        }
+    }
+
+    @Override
+    public Result solve(double a, double b, double c) throws RemoteException {
+        return call(stub -> stub.solve(a, b, c), result -> result.getStatus() == Status.BUSY);
+    }
+
+    @Override
+    public BatchResult solveBatch(double[] a, double[] b, double[] c) throws RemoteException {
+        // AdmissionExpression turns a batch away whole
+        return call(stub -> stub.solveBatch(a, b, c), result -> result.size() > 0
+                && result.getStatus(0) == Status.BUSY);
+    }
+
+    @Override
+    public PolynomialResult solvePolynomials(int degree, double[] coefficients) throws RemoteException {
+        return call(stub -> stub.solvePolynomials(degree, coefficients), result -> result.size() > 0
+                && result.getStatus(0) == PolynomialStatus.BUSY);
+    }
+
+    public int getHealthy() {
+        int healthy = 0;
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.stub.get() != null) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Cluster: ").append(getHealthy()).append('/').append(endpoints.size())
+                .append(" healthy");
+        for (Endpoint endpoint : endpoints) {
+            sb.append(System.lineSeparator()).append("  ").append(endpoint);
+        }
+        return sb.toString();
+    }
+
+    private <T> T call(Call<T> call, Predicate<T> busy) throws RemoteException {
+        boolean[] tried = new boolean[endpoints.size()];
+        T busyResult = null;
+        RemoteException failure = null;
+        for (int i = pick(tried); i >= 0; i = pick(tried)) {
+            tried[i] = true;
+            Endpoint endpoint = endpoints.get(i);
+            Expression stub = endpoint.stub.get();
+            if (stub == null) {
+                // Retired since pick()
+                continue;
+            }
+            endpoint.outstanding.incrementAndGet();
+            endpoint.calls.increment();
+            try {
+                T result = call.on(stub);
+                if (!busy.test(result)) {
+                    return result;
+                }
+                endpoint.busy.increment();
+                busyResult = result;
+            } catch (RemoteException e) {
+                endpoint.failures.increment();
+                endpoint.retire(stub, e);
+                failure = e;
+            } finally {
+                endpoint.outstanding.decrementAndGet();
+            }
+        }
+        if (busyResult != null) {
+            return busyResult;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        throw new ConnectException("No healthy " + name + " server among " + endpoints.size());
+    }
+
+    // Index of the healthy, untried endpoint with the fewest calls in flight,
+    // ties broken at random; -1 if there is none
+    private int pick(boolean[] tried) {
+        int n = endpoints.size();
+        int start = n == 1 ? 0 : ThreadLocalRandom.current().nextInt(n);
+        int best = -1;
+        int fewest = Integer.MAX_VALUE;
+        for (int k = 0; k < n; k++) {
+            int i = (start + k) % n;
+            Endpoint endpoint = endpoints.get(i);
+            int outstanding = endpoint.outstanding.get();
+            if (!tried[i] && endpoint.stub.get() != null && outstanding < fewest) {
+                best = i;
+                fewest = outstanding;
+            }
+        }
+        return best;
+    }
+
+    private void check(Endpoint endpoint) {
+        Expression stub = endpoint.stub.get();
+        try {
+            if (stub == null) {
+                Registry registry = LocateRegistry.getRegistry(endpoint.host, endpoint.port);
+                stub = (Expression) registry.lookup(name);
+            }
+            // A BUSY answer still shows the server is up
+            stub.solve(1, -3, 2);
+            if (endpoint.stub.compareAndSet(null, stub)) {
+                endpoint.lastError = null;
+            }
+        } catch (RemoteException | NotBoundException | RuntimeException e) {
+            endpoint.checkFailures.increment();
+            endpoint.retire(stub, e);
+        }
+    }
+
+    private interface Call<T> {
+        T on(Expression stub) throws RemoteException;
+    }
+
+    private static final class Endpoint {
+        final String host;
+        final int port;
+        // Cached stub, null while the server is retired
+        final AtomicReference<Expression> stub = new AtomicReference<>();
+        final AtomicInteger outstanding = new AtomicInteger();
+        final LongAdder calls = new LongAdder();
+        final LongAdder busy = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder checkFailures = new LongAdder();
+        volatile Exception lastError;
+
+        Endpoint(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+
+        static Endpoint parse(String address) {
+            int colon = address.lastIndexOf(':');
+            if (colon < 0) {
+                return new Endpoint(address, Registry.REGISTRY_PORT);
+            }
+            return new Endpoint(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+        }
+
+        // Drops the stub unless it has been replaced in the meantime
+        void retire(Expression failed, Exception error) {
+            lastError = error;
+            if (failed != null) {
+                stub.compareAndSet(failed, null);
+            }
+        }
+
+        @Override
+        public String toString() {
+            Exception error = lastError;
+            return String.format("%s:%d %s, %d in flight, %d calls, %d busy, %d failed, %d failed checks%s",
+                    host, port, stub.get() != null ? "up" : "down", outstanding.get(), calls.sum(), busy.sum(),
+                    failures.sum(), checkFailures.sum(),
+                    error != null ? ", last error " + error.getClass().getSimpleName() : "");
+        }
+    }
+}
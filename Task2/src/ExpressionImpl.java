@@ -1,29 +1,61 @@
 import java.rmi.RemoteException;
 
 public class ExpressionImpl implements Expression {
+    private final ParallelSolver batchSolver;
+
+    public ExpressionImpl() {
+        this(null);
+    }
+
+    // Large batches (and polynomial batches) go to batchSolver; null solves them in the calling thread
+    public ExpressionImpl(ParallelSolver batchSolver) {
+        this.batchSolver = batchSolver;
+    }
 
     @Override
     public Result solve(double a, double b, double c) throws RemoteException {
+        double[] roots = new double[2];
+        Status status = Status.fromCode(solveInto(a, b, c, roots, 0));
+        return new Result(status, roots[0], roots[1]);
+    }
+
+    @Override
+    public BatchResult solveBatch(double[] a, double[] b, double[] c) throws RemoteException {
+        return batchSolver != null ? batchSolver.solve(a, b, c) : BulkSolver.solve(a, b, c);
+    }
+
+    @Override
+    public PolynomialResult solvePolynomials(int degree, double[] coefficients) throws RemoteException {
+        return batchSolver != null
+                ? batchSolver.solvePolynomials(degree, coefficients)
+                : PolynomialSolver.solve(degree, coefficients);
+    }
+
+    // Writes both roots (NaN if absent) to roots[offset], roots[offset + 1]
+    // and returns the status code.
+    static byte solveInto(double a, double b, double c, double[] roots, int offset) {
+        roots[offset] = Double.NaN;
+        roots[offset + 1] = Double.NaN;
         if (a == 0) {
             if (b == 0) {
-                return new Result(null, null, "No answers");
+                return Status.NO_ANSWERS.code();
             } else {
-                double x = -c / b;
-                return new Result(x, null, "Success");
+                roots[offset] = -c / b;
+                return Status.LINEAR.code();
             }
         }
 
         double d = b * b - 4 * a * c;
         if (d < 0) {
-            return new Result(null, null, "No roots");
+            return Status.NO_ROOTS.code();
         } else if (d == 0) {
-            double x = -b / (2 * a);
-            return new Result(x, null, "One root");
+            roots[offset] = -b / (2 * a);
+            return Status.ONE_ROOT.code();
         } else {
             double sqrtD = Math.sqrt(d);
-            double x1 = (-b + sqrtD) / (2 * a);
-            double x2 = (-b - sqrtD) / (2 * a);
-            return new Result(x1, x2, "Two roots");
+            roots[offset] = (-b + sqrtD) / (2 * a);
+            roots[offset + 1] = (-b - sqrtD) / (2 * a);
+            return Status.TWO_ROOTS.code();
         }
     }
 
@@ -0,0 +1,184 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Solves a file of equations through memory-mapped I/O, without RMI.
+//
+// Input: packed little-endian double triples (a, b, c), 24 bytes per equation.
+// Output:
+//   header  32 bytes: magic, version, equation count, chunk size
+//   roots   16 bytes per equation: x1, x2 as in BatchResult (NaN if absent)
+//   status  1 byte per equation: Status code
+//   done    1 byte per chunk: set once the chunk's results are on disk
+//
+// Chunks are solved in parallel, each mapping only its own window of both
+// files. A chunk's results are forced to disk before its done byte is set,
+// so rerunning on the same output after a crash solves only the chunks that
+// are not marked done.
+public final class FileSolver {
+    public static final int DEFAULT_CHUNK = 1 << 20;
+
+    private static final int MAGIC = 0x51534f4c; // "QSOL"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int INPUT_BYTES = 3 * Double.BYTES;
+    private static final int ROOTS_BYTES = 2 * Double.BYTES;
+
+    private final Path input;
+    private final Path output;
+    private final int chunk;
+
+    public FileSolver(Path input, Path output, int chunk) {
+        if (chunk <= 0 || chunk > Integer.MAX_VALUE / INPUT_BYTES) {
+            throw new IllegalArgumentException("Bad chunk size: " + chunk);
+        }
+        this.input = input;
+        this.output = output;
+        this.chunk = chunk;
+    }
+
+    // Returns the number of chunks solved by this run
+    public int solve(int threads) throws IOException, InterruptedException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (in.size() % INPUT_BYTES != 0) {
+                throw new IllegalArgumentException(input + " is not a whole number of (a, b, c) triples");
+            }
+            long count = in.size() / INPUT_BYTES;
+            int chunks = (int) ((count + chunk - 1) / chunk);
+            long doneOffset = HEADER_BYTES + count * (ROOTS_BYTES + 1);
+            MappedByteBuffer done = open(out, count, doneOffset, chunks);
+
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger solved = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    workers.add(pool.submit(() -> {
+                        Scratch scratch = null;
+                        for (int i = next.getAndIncrement(); i < chunks; i = next.getAndIncrement()) {
+                            if (done.get(i) == 0) {
+                                if (scratch == null) {
+                                    scratch = new Scratch((int) Math.min(chunk, count));
+                                }
+                                solveChunk(in, out, count, i, scratch);
+                                done.put(i, (byte) 1);
+                                solved.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                pool.shutdownNow();
+                done.force();
+            }
+            return solved.get();
+        }
+    }
+
+    // Maps the done bytes, writing a fresh header if the output is new and
+    // checking it matches the input if it is being resumed
+    private MappedByteBuffer open(FileChannel out, long count, long doneOffset, int chunks) throws IOException {
+        MappedByteBuffer header;
+        if (out.size() == 0) {
+            header = out.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(count).putInt(chunk);
+            header.force();
+        } else {
+            header = out.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getLong() != count || header.getInt() != chunk) {
+                throw new IllegalArgumentException(output + " belongs to another input or chunk size;"
+                        + " delete it to start over");
+            }
+        }
+        // Mapping past the end grows the file; new bytes read as zero, i.e. not done
+        return out.map(FileChannel.MapMode.READ_WRITE, doneOffset, chunks);
+    }
+
+    // The vectorized kernel needs plain arrays, so each chunk is still copied
+    // in and out of the mapping, but through the worker's scratch arrays
+    private void solveChunk(FileChannel in, FileChannel out, long count, int index, Scratch s) throws IOException {
+        long from = (long) index * chunk;
+        int n = (int) Math.min(chunk, count - from);
+
+        DoubleBuffer abc = in.map(FileChannel.MapMode.READ_ONLY, from * INPUT_BYTES, (long) n * INPUT_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        for (int i = 0; i < n; i++) {
+            s.a[i] = abc.get(3 * i);
+            s.b[i] = abc.get(3 * i + 1);
+            s.c[i] = abc.get(3 * i + 2);
+        }
+        BulkSolver.solve(s.a, s.b, s.c, 0, n, s.roots, s.status);
+
+        MappedByteBuffer roots = out.map(FileChannel.MapMode.READ_WRITE,
+                HEADER_BYTES + from * ROOTS_BYTES, (long) n * ROOTS_BYTES);
+        DoubleBuffer rootsOut = roots.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        rootsOut.put(s.roots, 0, 2 * n);
+        MappedByteBuffer status = out.map(FileChannel.MapMode.READ_WRITE,
+                HEADER_BYTES + count * ROOTS_BYTES + from, n);
+        status.put(s.status, 0, n);
+        roots.force();
+        status.force();
+    }
+
+    // Per-worker arrays for one chunk, reused for every chunk the worker solves
+    private static final class Scratch {
+        final double[] a;
+        final double[] b;
+        final double[] c;
+        final double[] roots;
+        final byte[] status;
+
+        Scratch(int n) {
+            a = new double[n];
+            b = new double[n];
+            c = new double[n];
+            roots = new double[2 * n];
+            status = new byte[n];
+        }
+    }
+
+    // Usage: FileSolver <input> <output> [threads] [chunk size]
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: FileSolver <input> <output> [threads] [chunk size]");
+            return;
+        }
+        try {
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            int chunk = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_CHUNK;
+            FileSolver solver = new FileSolver(Paths.get(args[0]), Paths.get(args[1]), chunk);
+            long start = System.nanoTime();
+            int solved = solver.solve(threads);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("Solved " + solved + " chunks of " + chunk + " in " + millis + " ms");
+        }
+        catch (Exception e) {
+            System.err.println("Error: " + e);
+        }
+    }
+}
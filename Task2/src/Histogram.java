@@ -0,0 +1,81 @@
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fixed-size log-linear histogram of non-negative longs (latencies, batch
+// sizes). Each power of two is split into 8 buckets, so a percentile is
+// reported as the upper bound of its bucket, at most 12.5% above the true
+// value. Buckets are LongAdders: recording never blocks and concurrent
+// recorders of the same value don't contend on one counter.
+final class Histogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long value) {
+        long v = Math.max(0, value);
+        buckets[indexOf(v)].increment();
+        max.accumulate(v);
+    }
+
+    long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    long max() { return max.get(); }
+
+    // Upper bound of the bucket holding the q-th quantile, 0 if empty
+    long percentile(double q) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS && total > 0; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), max());
+            }
+        }
+        return 0;
+    }
+
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        max.reset();
+    }
+
+    static int indexOf(long v) {
+        if (v < SUB) {
+            return (int) v;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(v);
+        return (exponent - SUB_BITS + 1) * SUB + (int) ((v >>> (exponent - SUB_BITS)) & (SUB - 1));
+    }
+
+    static long highestValueIn(int index) {
+        if (index < SUB) {
+            return index;
+        }
+        int exponent = index / SUB + SUB_BITS - 1;
+        long low = (long) (SUB + index % SUB) << (exponent - SUB_BITS);
+        return low + (1L << (exponent - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,196 @@
+import java.lang.management.ManagementFactory;
+import java.rmi.RemoteException;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Metering decorator: counts calls, in-flight calls, errors and outcomes, and
+// records latency and batch size histograms, all on LongAdders so that
+// concurrent calls never serialize on the instrumentation. Exposed over JMX by
+// register().
+public class MeteredExpression implements Expression, MeteredExpressionMBean {
+    private final Expression delegate;
+    private final LongAdder solveCalls = new LongAdder();
+    private final LongAdder batchCalls = new LongAdder();
+    private final LongAdder polynomialCalls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder batchEquations = new LongAdder();
+    private final LongAdder polynomials = new LongAdder();
+    private final LongAdder notConverged = new LongAdder();
+    private final LongAdder[] outcomes = new LongAdder[Status.values().length];
+    private final Histogram solveLatency = new Histogram();
+    private final Histogram batchLatency = new Histogram();
+    private final Histogram batchSize = new Histogram();
+    private final Histogram polynomialLatency = new Histogram();
+
+    public MeteredExpression(Expression delegate) {
+        this.delegate = delegate;
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public Result solve(double a, double b, double c) throws RemoteException {
+        solveCalls.increment();
+        inFlight.increment();
+        long start = System.nanoTime();
+        try {
+            Result result = delegate.solve(a, b, c);
+            outcomes[result.getStatus().ordinal()].increment();
+            return result;
+        } catch (RemoteException | RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            solveLatency.record(System.nanoTime() - start);
+            inFlight.decrement();
+        }
+    }
+
+    @Override
+    public BatchResult solveBatch(double[] a, double[] b, double[] c) throws RemoteException {
+        batchCalls.increment();
+        inFlight.increment();
+        long start = System.nanoTime();
+        try {
+            BatchResult result = delegate.solveBatch(a, b, c);
+            batchEquations.add(result.size());
+            batchSize.record(result.size());
+            countOutcomes(result.getStatus());
+            return result;
+        } catch (RemoteException | RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            batchLatency.record(System.nanoTime() - start);
+            inFlight.decrement();
+        }
+    }
+
+    @Override
+    public PolynomialResult solvePolynomials(int degree, double[] coefficients) throws RemoteException {
+        polynomialCalls.increment();
+        inFlight.increment();
+        long start = System.nanoTime();
+        try {
+            PolynomialResult result = delegate.solvePolynomials(degree, coefficients);
+            polynomials.add(result.size());
+            byte notConvergedCode = PolynomialStatus.NOT_CONVERGED.code();
+            for (byte code : result.getStatus()) {
+                if (code == notConvergedCode) {
+                    notConverged.increment();
+                }
+            }
+            return result;
+        } catch (RemoteException | RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            polynomialLatency.record(System.nanoTime() - start);
+            inFlight.decrement();
+        }
+    }
+
+    // Registers under ExpressionServer:type=Metrics,name=<name>, replacing a
+    // previous registration of the same name
+    public ObjectName register(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("ExpressionServer:type=Metrics,name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register metrics MBean " + name, e);
+        }
+    }
+
+    private void countOutcomes(byte[] status) {
+        long[] counts = new long[outcomes.length];
+        for (byte code : status) {
+            counts[code]++;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                outcomes[i].add(counts[i]);
+            }
+        }
+    }
+
+    @Override public long getSolveCalls() { return solveCalls.sum(); }
+    @Override public long getBatchCalls() { return batchCalls.sum(); }
+    @Override public long getPolynomialCalls() { return polynomialCalls.sum(); }
+    @Override public long getErrors() { return errors.sum(); }
+    @Override public long getInFlight() { return inFlight.sum(); }
+
+    @Override public long getSolveLatencyP50Nanos() { return solveLatency.percentile(0.5); }
+    @Override public long getSolveLatencyP99Nanos() { return solveLatency.percentile(0.99); }
+    @Override public long getSolveLatencyP999Nanos() { return solveLatency.percentile(0.999); }
+    @Override public long getSolveLatencyMaxNanos() { return solveLatency.max(); }
+
+    @Override public long getBatchLatencyP50Nanos() { return batchLatency.percentile(0.5); }
+    @Override public long getBatchLatencyP99Nanos() { return batchLatency.percentile(0.99); }
+    @Override public long getBatchLatencyMaxNanos() { return batchLatency.max(); }
+
+    @Override public long getBatchEquations() { return batchEquations.sum(); }
+    @Override public long getBatchSizeP50() { return batchSize.percentile(0.5); }
+    @Override public long getBatchSizeP99() { return batchSize.percentile(0.99); }
+    @Override public long getBatchSizeMax() { return batchSize.max(); }
+
+    @Override public long getPolynomialLatencyP50Nanos() { return polynomialLatency.percentile(0.5); }
+    @Override public long getPolynomialLatencyP99Nanos() { return polynomialLatency.percentile(0.99); }
+    @Override public long getPolynomialLatencyMaxNanos() { return polynomialLatency.max(); }
+    @Override public long getPolynomials() { return polynomials.sum(); }
+    @Override public long getPolynomialsNotConverged() { return notConverged.sum(); }
+
+    @Override public long getNoAnswers() { return outcomes[Status.NO_ANSWERS.ordinal()].sum(); }
+    @Override public long getLinear() { return outcomes[Status.LINEAR.ordinal()].sum(); }
+    @Override public long getNoRoots() { return outcomes[Status.NO_ROOTS.ordinal()].sum(); }
+    @Override public long getOneRoot() { return outcomes[Status.ONE_ROOT.ordinal()].sum(); }
+    @Override public long getTwoRoots() { return outcomes[Status.TWO_ROOTS.ordinal()].sum(); }
+    @Override public long getBusy() { return outcomes[Status.BUSY.ordinal()].sum(); }
+
+    @Override
+    public String getReport() {
+        return String.format("Calls: %d solve, %d batch (%d equations), %d errors, %d in flight%n"
+                        + "Solve latency ns: p50 %d, p99 %d, p99.9 %d, max %d%n"
+                        + "Batch latency ns: p50 %d, p99 %d, max %d; batch size p50 %d, p99 %d, max %d%n"
+                        + "Polynomials: %d calls (%d polynomials, %d not converged), latency ns p50 %d, p99 %d,"
+                        + " max %d%n"
+                        + "Outcomes: %d no answers, %d linear, %d no roots, %d one root, %d two roots, %d busy",
+                getSolveCalls(), getBatchCalls(), getBatchEquations(), getErrors(), getInFlight(),
+                getSolveLatencyP50Nanos(), getSolveLatencyP99Nanos(), getSolveLatencyP999Nanos(),
+                getSolveLatencyMaxNanos(),
+                getBatchLatencyP50Nanos(), getBatchLatencyP99Nanos(), getBatchLatencyMaxNanos(),
+                getBatchSizeP50(), getBatchSizeP99(), getBatchSizeMax(),
+                getPolynomialCalls(), getPolynomials(), getPolynomialsNotConverged(),
+                getPolynomialLatencyP50Nanos(), getPolynomialLatencyP99Nanos(), getPolynomialLatencyMaxNanos(),
+                getNoAnswers(), getLinear(), getNoRoots(), getOneRoot(), getTwoRoots(), getBusy());
+    }
+
+    @Override
+    public void reset() {
+        solveCalls.reset();
+        batchCalls.reset();
+        polynomialCalls.reset();
+        errors.reset();
+        batchEquations.reset();
+        polynomials.reset();
+        notConverged.reset();
+        for (LongAdder outcome : outcomes) {
+            outcome.reset();
+        }
+        solveLatency.reset();
+        batchLatency.reset();
+        batchSize.reset();
+        polynomialLatency.reset();
+    }
+
+    @Override
+    public String toString() { return getReport(); }
+}
@@ -0,0 +1,42 @@
+// JMX view of MeteredExpression. Latencies are in nanoseconds, measured inside
+// the server (RMI or binary transport overhead excluded).
+public interface MeteredExpressionMBean {
+    long getSolveCalls();
+    long getBatchCalls();
+    long getPolynomialCalls();
+    long getErrors();
+    long getInFlight();
+
+    long getSolveLatencyP50Nanos();
+    long getSolveLatencyP99Nanos();
+    long getSolveLatencyP999Nanos();
+    long getSolveLatencyMaxNanos();
+
+    long getBatchLatencyP50Nanos();
+    long getBatchLatencyP99Nanos();
+    long getBatchLatencyMaxNanos();
+
+    long getBatchEquations();
+    long getBatchSizeP50();
+    long getBatchSizeP99();
+    long getBatchSizeMax();
+
+    long getPolynomialLatencyP50Nanos();
+    long getPolynomialLatencyP99Nanos();
+    long getPolynomialLatencyMaxNanos();
+    long getPolynomials();
+    long getPolynomialsNotConverged();
+
+    // Outcomes of single and batched equations together
+    long getNoAnswers();
+    long getLinear();
+    long getNoRoots();
+    long getOneRoot();
+    long getTwoRoots();
+    // Equations turned away by admission control
+    long getBusy();
+
+    String getReport();
+
+    void reset();
+}
@@ -0,0 +1,166 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+// Solves large batches on a dedicated ForkJoinPool, so batch work runs on its
+// own threads instead of RMI connection threads or the common pool. The
+// calling connection thread just waits for the result.
+//
+// The coefficient arrays are split in halves down to chunks of CHUNK
+// equations, each solved by BulkSolver. Batches below the cutoff are solved
+// sequentially in the calling thread: forking them costs more than it saves.
+//
+// Polynomial batches are split the same way. A polynomial of degree n is
+// weighed as n^2 equations (Aberth's cost per iteration), both for the cutoff
+// and for the chunk size.
+public class ParallelSolver implements AutoCloseable {
+    public static final int DEFAULT_CUTOFF = 1 << 16;
+
+    // 32K equations: 768 KB of coefficients in, 576 KB of results out,
+    // about one core's share of cache, and large enough for BulkSolver's
+    // vectorized path
+    private static final int CHUNK = BulkSolver.MIN_BULK;
+
+    private final ForkJoinPool pool;
+    private final int cutoff;
+
+    public ParallelSolver(int parallelism) {
+        this(parallelism, DEFAULT_CUTOFF);
+    }
+
+    public ParallelSolver(int parallelism, int cutoff) {
+        if (cutoff < 0) {
+            throw new IllegalArgumentException("cutoff must not be negative: " + cutoff);
+        }
+        this.pool = new ForkJoinPool(parallelism, ParallelSolver::newWorker, null, false);
+        this.cutoff = cutoff;
+    }
+
+    public BatchResult solve(double[] a, double[] b, double[] c) {
+        BulkSolver.checkLengths(a, b, c);
+        double[] roots = new double[2 * a.length];
+        byte[] status = new byte[a.length];
+        if (a.length < cutoff) {
+            BulkSolver.solve(a, b, c, 0, a.length, roots, status);
+        } else {
+            pool.invoke(new Chunk(a, b, c, 0, a.length, roots, status));
+        }
+        return new BatchResult(roots, status);
+    }
+
+    public PolynomialResult solvePolynomials(int degree, double[] coefficients) {
+        int count = PolynomialSolver.checkShape(degree, coefficients);
+        double[] roots = new double[2 * degree * count];
+        byte[] status = new byte[count];
+        long weight = (long) degree * degree;
+        if (count * weight < cutoff) {
+            PolynomialSolver.solve(degree, coefficients, 0, count, roots, status);
+        } else {
+            int chunk = (int) Math.max(1, CHUNK / weight);
+            pool.invoke(new PolynomialChunk(degree, coefficients, 0, count, chunk, roots, status));
+        }
+        return new PolynomialResult(degree, roots, status);
+    }
+
+    public int getParallelism() { return pool.getParallelism(); }
+
+    // Waits up to a minute for running solves; if interrupted, cancels them
+    // and keeps the interrupt for the caller
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelSolver{parallelism=" + pool.getParallelism() + ", cutoff=" + cutoff
+                + ", steals=" + pool.getStealCount() + "}";
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("batch-solver-" + worker.getPoolIndex());
+        return worker;
+    }
+
+    private static class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] a;
+        private final double[] b;
+        private final double[] c;
+        private final int from;
+        private final int to;
+        private final double[] roots;
+        private final byte[] status;
+
+        Chunk(double[] a, double[] b, double[] c, int from, int to, double[] roots, byte[] status) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.from = from;
+            this.to = to;
+            this.roots = roots;
+            this.status = status;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK) {
+                BulkSolver.solve(a, b, c, from, to, roots, status);
+                return;
+            }
+            // Split on a chunk boundary so no leaf ends up with a sliver
+            int mid = from + (to - from) / 2 / CHUNK * CHUNK;
+            if (mid == from) {
+                mid = from + CHUNK;
+            }
+            invokeAll(new Chunk(a, b, c, from, mid, roots, status),
+                    new Chunk(a, b, c, mid, to, roots, status));
+        }
+    }
+
+    private static class PolynomialChunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int degree;
+        private final double[] coefficients;
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final double[] roots;
+        private final byte[] status;
+
+        PolynomialChunk(int degree, double[] coefficients, int from, int to, int chunk, double[] roots,
+                        byte[] status) {
+            this.degree = degree;
+            this.coefficients = coefficients;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.roots = roots;
+            this.status = status;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                PolynomialSolver.solve(degree, coefficients, from, to, roots, status);
+                return;
+            }
+            int mid = from + (to - from) / 2 / chunk * chunk;
+            if (mid == from) {
+                mid = from + chunk;
+            }
+            invokeAll(new PolynomialChunk(degree, coefficients, from, mid, chunk, roots, status),
+                    new PolynomialChunk(degree, coefficients, mid, to, chunk, roots, status));
+        }
+    }
+}
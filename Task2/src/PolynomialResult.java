@@ -0,0 +1,45 @@
+import java.io.Serializable;
+
+// Results of solvePolynomials packed into primitive arrays: polynomial i has
+// status[i] and its degree complex roots at roots[2 * (i * degree + k)] (real
+// part) and roots[2 * (i * degree + k) + 1] (imaginary part), k < degree.
+// Roots of a DEGENERATE or BUSY polynomial are NaN; those of a NOT_CONVERGED
+// one are the last approximations.
+public class PolynomialResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int degree;
+    private final double[] roots;
+    private final byte[] status;
+
+    public PolynomialResult(int degree, double[] roots, byte[] status) {
+        if (degree < 1 || roots.length != 2L * degree * status.length) {
+            throw new IllegalArgumentException("Expected " + 2L * degree * status.length
+                    + " root parts for degree " + degree + ", got " + roots.length);
+        }
+        this.degree = degree;
+        this.roots = roots;
+        this.status = status;
+    }
+
+    public int size() { return status.length; }
+    public int getDegree() { return degree; }
+    public double[] getRoots() { return roots; }
+    public byte[] getStatus() { return status; }
+
+    public PolynomialStatus getStatus(int i) { return PolynomialStatus.fromCode(status[i]); }
+    public double getRe(int i, int k) { return roots[2 * (i * degree + k)]; }
+    public double getIm(int i, int k) { return roots[2 * (i * degree + k) + 1]; }
+
+    public String toString(int i) {
+        StringBuilder sb = new StringBuilder(getStatus(i).getMessage());
+        for (int k = 0; k < degree; k++) {
+            sb.append(k == 0 ? ": " : ", ").append(getRe(i, k));
+            double im = getIm(i, k);
+            if (im != 0) {
+                sb.append(im < 0 ? " - " : " + ").append(Math.abs(im)).append('i');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,327 @@
+import java.util.Arrays;
+
+// Roots of real polynomials, in batches laid out as in PolynomialResult. Each
+// polynomial is degree + 1 coefficients, highest power first, the way a, b, c
+// are passed to Expression.solve.
+//
+// Degrees 1 and 2 are solved directly. Degrees 3 and 4 are solved in closed
+// form (Cardano, and Ferrari through the cubic resolvent), then polished with
+// Newton steps on the original coefficients to win back the digits the closed
+// forms lose. Higher degrees use Aberth-Ehrlich iteration: Durand-Kerner with
+// a Newton correction, cubically convergent for simple roots. A root is taken
+// as found once the polynomial's value there is within Horner's rounding error
+// bound, so multiple and clustered roots stop at the accuracy they allow
+// instead of running out of iterations.
+//
+// Roots are computed in place in the output array; nothing is allocated per
+// polynomial.
+public final class PolynomialSolver {
+    private static final byte FOUND = PolynomialStatus.FOUND.code();
+    private static final byte DEGENERATE = PolynomialStatus.DEGENERATE.code();
+    private static final byte NOT_CONVERGED = PolynomialStatus.NOT_CONVERGED.code();
+
+    private static final int MAX_ITERATIONS = 200;
+    private static final int POLISH_STEPS = 2;
+    private static final double EPSILON = Math.ulp(1.0) / 2;
+    private static final double SQRT3_2 = Math.sqrt(3) / 2;
+    // Rotates Aberth's starting circle off the real axis, so that conjugate
+    // roots don't start out symmetric
+    private static final double START_ANGLE = 0.4;
+
+    // Horner results: p(z), p'(z) and the rounding error scale sum |c_j| |z|^j
+    private static final int P_RE = 0;
+    private static final int P_IM = 1;
+    private static final int D_RE = 2;
+    private static final int D_IM = 3;
+    private static final int BOUND = 4;
+
+    private PolynomialSolver() {}
+
+    public static PolynomialResult solve(int degree, double[] coefficients) {
+        int count = checkShape(degree, coefficients);
+        double[] roots = new double[2 * degree * count];
+        byte[] status = new byte[count];
+        solve(degree, coefficients, 0, count, roots, status);
+        return new PolynomialResult(degree, roots, status);
+    }
+
+    // Returns the number of polynomials
+    static int checkShape(int degree, double[] coefficients) {
+        if (degree < 1 || coefficients.length % (degree + 1) != 0) {
+            throw new IllegalArgumentException("Expected a positive degree and a multiple of degree + 1 coefficients,"
+                    + " got degree " + degree + " and " + coefficients.length + " coefficients");
+        }
+        int count = coefficients.length / (degree + 1);
+        if (2L * degree * count > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many roots for one batch: " + count + " polynomials of degree "
+                    + degree);
+        }
+        return count;
+    }
+
+    // Solves polynomials [from, to) of the batch
+    static void solve(int degree, double[] coefficients, int from, int to, double[] roots, byte[] status) {
+        double[] horner = new double[BOUND + 1];
+        for (int i = from; i < to; i++) {
+            status[i] = solveInto(coefficients, i * (degree + 1), degree, roots, 2 * i * degree, horner);
+        }
+    }
+
+    // Writes the degree roots of the polynomial at coefficients[offset] as
+    // (re, im) pairs from roots[rootOffset] and returns the status code
+    static byte solveInto(double[] coefficients, int offset, int degree, double[] roots, int rootOffset,
+                          double[] horner) {
+        double lead = coefficients[offset];
+        boolean valid = lead != 0;
+        for (int j = 0; j <= degree && valid; j++) {
+            valid = Double.isFinite(coefficients[offset + j]);
+        }
+        if (!valid) {
+            Arrays.fill(roots, rootOffset, rootOffset + 2 * degree, Double.NaN);
+            return DEGENERATE;
+        }
+
+        if (degree == 1) {
+            roots[rootOffset] = -coefficients[offset + 1] / lead;
+            roots[rootOffset + 1] = 0;
+            return FOUND;
+        } else if (degree == 2) {
+            quadratic(lead, coefficients[offset + 1], coefficients[offset + 2], roots, rootOffset);
+            return FOUND;
+        } else if (degree == 3) {
+            cubic(coefficients[offset + 1] / lead, coefficients[offset + 2] / lead, coefficients[offset + 3] / lead,
+                    roots, rootOffset);
+            polish(coefficients, offset, degree, roots, rootOffset, horner);
+            return FOUND;
+        } else if (degree == 4 && quartic(coefficients[offset + 1] / lead, coefficients[offset + 2] / lead,
+                coefficients[offset + 3] / lead, coefficients[offset + 4] / lead, roots, rootOffset)) {
+            polish(coefficients, offset, degree, roots, rootOffset, horner);
+            return FOUND;
+        }
+        return aberth(coefficients, offset, degree, roots, rootOffset, horner);
+    }
+
+    private static void quadratic(double a, double b, double c, double[] roots, int o) {
+        double d = b * b - 4 * a * c;
+        if (d >= 0) {
+            // -b and sqrt(d) never cancel here; the smaller root comes from x1 x2 = c / a
+            double q = -(b + Math.copySign(Math.sqrt(d), b)) / 2;
+            roots[o] = q / a;
+            roots[o + 1] = 0;
+            roots[o + 2] = q == 0 ? 0 : c / q;
+            roots[o + 3] = 0;
+        } else {
+            double re = -b / (2 * a);
+            double im = Math.sqrt(-d) / (2 * Math.abs(a));
+            roots[o] = re;
+            roots[o + 1] = im;
+            roots[o + 2] = re;
+            roots[o + 3] = -im;
+        }
+    }
+
+    // x^3 + a x^2 + b x + c, through the depressed cubic t^3 + p t + q with x = t - a / 3
+    private static void cubic(double a, double b, double c, double[] roots, int o) {
+        double a3 = a / 3;
+        double p = b - a * a3;
+        double q = c - a3 * b + 2 * a3 * a3 * a3;
+        double h = q * q / 4 + p * p * p / 27;
+        if (h > 0 || p >= 0) {
+            // One real root and a conjugate pair (a triple root if p = q = 0). u is
+            // the larger cube root, so u^3 doesn't suffer cancellation; u v = -p / 3.
+            double u = Math.cbrt(-q / 2 - Math.copySign(Math.sqrt(Math.max(h, 0)), q));
+            double v = u == 0 ? 0 : -p / (3 * u);
+            roots[o] = u + v - a3;
+            roots[o + 1] = 0;
+            roots[o + 2] = -(u + v) / 2 - a3;
+            roots[o + 3] = SQRT3_2 * (u - v);
+            roots[o + 4] = roots[o + 2];
+            roots[o + 5] = -roots[o + 3];
+        } else {
+            // Three real roots, trigonometric form
+            double m = 2 * Math.sqrt(-p / 3);
+            double theta = Math.acos(Math.max(-1, Math.min(1, 3 * q / (p * m)))) / 3;
+            for (int k = 0; k < 3; k++) {
+                roots[o + 2 * k] = m * Math.cos(theta - 2 * Math.PI * k / 3) - a3;
+                roots[o + 2 * k + 1] = 0;
+            }
+        }
+    }
+
+    // x^4 + a x^3 + b x^2 + c x + d, through the depressed quartic
+    // y^4 + p y^2 + q y + r with x = y - a / 4. Returns false if the resolvent
+    // gives no usable root, leaving the polynomial to Aberth.
+    private static boolean quartic(double a, double b, double c, double d, double[] roots, int o) {
+        double a4 = a / 4;
+        double a42 = a4 * a4;
+        double p = b - 6 * a42;
+        double q = c - 2 * a4 * b + 8 * a42 * a4;
+        double r = d - a4 * c + a42 * b - 3 * a42 * a42;
+        if (q == 0) {
+            // Biquadratic: y = +-sqrt(z) for the roots z of z^2 + p z + r
+            quadratic(1, p, r, roots, o);
+            double z2re = roots[o + 2];
+            double z2im = roots[o + 3];
+            sqrt(roots[o], roots[o + 1], roots, o);
+            sqrt(z2re, z2im, roots, o + 4);
+            roots[o + 2] = -roots[o];
+            roots[o + 3] = -roots[o + 1];
+            roots[o + 6] = -roots[o + 4];
+            roots[o + 7] = -roots[o + 5];
+        } else {
+            // The resolvent m^3 + p m^2 + (p^2 / 4 - r) m - q^2 / 8 has a positive
+            // root m, which splits the quartic into
+            // (y^2 - s y + p / 2 + m + q / 2s)(y^2 + s y + p / 2 + m - q / 2s), s = sqrt(2m)
+            cubic(p, p * p / 4 - r, -q * q / 8, roots, o);
+            double m = 0;
+            for (int k = 0; k < 3; k++) {
+                if (roots[o + 2 * k + 1] == 0) {
+                    m = Math.max(m, roots[o + 2 * k]);
+                }
+            }
+            if (!(m > 0)) {
+                return false;
+            }
+            double s = Math.sqrt(2 * m);
+            double shift = q / (2 * s);
+            quadratic(1, -s, p / 2 + m + shift, roots, o);
+            quadratic(1, s, p / 2 + m - shift, roots, o + 4);
+        }
+        for (int k = 0; k < 4; k++) {
+            roots[o + 2 * k] -= a4;
+        }
+        return true;
+    }
+
+    // Principal square root of re + i im into roots[o], roots[o + 1]
+    private static void sqrt(double re, double im, double[] roots, int o) {
+        double modulus = Math.hypot(re, im);
+        roots[o] = Math.sqrt(Math.max(0, (modulus + re) / 2));
+        roots[o + 1] = Math.copySign(Math.sqrt(Math.max(0, (modulus - re) / 2)), im);
+    }
+
+    // Newton steps on the original polynomial, each kept only if it reduces |p|
+    private static void polish(double[] coefficients, int offset, int degree, double[] roots, int o,
+                               double[] horner) {
+        for (int k = 0; k < degree; k++) {
+            int at = o + 2 * k;
+            for (int step = 0; step < POLISH_STEPS; step++) {
+                double re = roots[at];
+                double im = roots[at + 1];
+                horner(coefficients, offset, degree, re, im, horner);
+                double value = horner[P_RE] * horner[P_RE] + horner[P_IM] * horner[P_IM];
+                double slope = horner[D_RE] * horner[D_RE] + horner[D_IM] * horner[D_IM];
+                if (converged(degree, horner) || slope == 0) {
+                    break;
+                }
+                double nextRe = re - (horner[P_RE] * horner[D_RE] + horner[P_IM] * horner[D_IM]) / slope;
+                double nextIm = im - (horner[P_IM] * horner[D_RE] - horner[P_RE] * horner[D_IM]) / slope;
+                horner(coefficients, offset, degree, nextRe, nextIm, horner);
+                if (horner[P_RE] * horner[P_RE] + horner[P_IM] * horner[P_IM] >= value) {
+                    break;
+                }
+                roots[at] = nextRe;
+                roots[at + 1] = nextIm;
+            }
+        }
+    }
+
+    private static byte aberth(double[] coefficients, int offset, int degree, double[] roots, int o,
+                               double[] horner) {
+        // Start on a circle of radius max |c_k / c_0|^(1/k); every root lies within twice that
+        double lead = Math.abs(coefficients[offset]);
+        double radius = 0;
+        for (int k = 1; k <= degree; k++) {
+            radius = Math.max(radius, Math.pow(Math.abs(coefficients[offset + k]) / lead, 1.0 / k));
+        }
+        for (int k = 0; k < degree; k++) {
+            double angle = 2 * Math.PI * k / degree + START_ANGLE;
+            roots[o + 2 * k] = radius * Math.cos(angle);
+            roots[o + 2 * k + 1] = radius * Math.sin(angle);
+        }
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            boolean done = true;
+            for (int k = 0; k < degree; k++) {
+                int at = o + 2 * k;
+                double re = roots[at];
+                double im = roots[at + 1];
+                horner(coefficients, offset, degree, re, im, horner);
+                if (converged(degree, horner)) {
+                    continue;
+                }
+                done = false;
+                double slope = horner[D_RE] * horner[D_RE] + horner[D_IM] * horner[D_IM];
+                if (slope == 0) {
+                    // Stationary point: step off it
+                    double step = 1e-3 * (1 + Math.abs(re) + Math.abs(im));
+                    roots[at] = re + step;
+                    roots[at + 1] = im + step;
+                    continue;
+                }
+                // Newton correction n = p / p'
+                double nRe = (horner[P_RE] * horner[D_RE] + horner[P_IM] * horner[D_IM]) / slope;
+                double nIm = (horner[P_IM] * horner[D_RE] - horner[P_RE] * horner[D_IM]) / slope;
+                // Repulsion from the other approximations: s = sum 1 / (z_k - z_j)
+                double sRe = 0;
+                double sIm = 0;
+                for (int j = 0; j < degree; j++) {
+                    double dRe = re - roots[o + 2 * j];
+                    double dIm = im - roots[o + 2 * j + 1];
+                    double distance = dRe * dRe + dIm * dIm;
+                    if (j != k && distance != 0) {
+                        sRe += dRe / distance;
+                        sIm -= dIm / distance;
+                    }
+                }
+                // Aberth step w = n / (1 - n s)
+                double qRe = 1 - (nRe * sRe - nIm * sIm);
+                double qIm = -(nRe * sIm + nIm * sRe);
+                double q = qRe * qRe + qIm * qIm;
+                if (q != 0) {
+                    double wRe = (nRe * qRe + nIm * qIm) / q;
+                    nIm = (nIm * qRe - nRe * qIm) / q;
+                    nRe = wRe;
+                }
+                roots[at] = re - nRe;
+                roots[at + 1] = im - nIm;
+            }
+            if (done) {
+                return FOUND;
+            }
+        }
+        return NOT_CONVERGED;
+    }
+
+    // |p(z)| is within the rounding error Horner's scheme can make at z
+    private static boolean converged(int degree, double[] horner) {
+        double tolerance = 2 * degree * EPSILON * horner[BOUND];
+        return horner[P_RE] * horner[P_RE] + horner[P_IM] * horner[P_IM] <= tolerance * tolerance;
+    }
+
+    // p(z), p'(z) and sum |c_j| |z|^j at z = re + i im, into horner
+    private static void horner(double[] coefficients, int offset, int degree, double re, double im,
+                               double[] horner) {
+        double pRe = coefficients[offset];
+        double pIm = 0;
+        double dRe = 0;
+        double dIm = 0;
+        double modulus = Math.sqrt(re * re + im * im);
+        double bound = Math.abs(pRe);
+        for (int j = 1; j <= degree; j++) {
+            double t = dRe * re - dIm * im + pRe;
+            dIm = dRe * im + dIm * re + pIm;
+            dRe = t;
+            double c = coefficients[offset + j];
+            t = pRe * re - pIm * im + c;
+            pIm = pRe * im + pIm * re;
+            pRe = t;
+            bound = bound * modulus + Math.abs(c);
+        }
+        horner[P_RE] = pRe;
+        horner[P_IM] = pIm;
+        horner[D_RE] = dRe;
+        horner[D_IM] = dIm;
+        horner[BOUND] = bound;
+    }
+}
@@ -0,0 +1,25 @@
+public enum PolynomialStatus {
+    FOUND("Roots found"),
+    DEGENERATE("Zero leading coefficient or non-finite coefficients"),
+    NOT_CONVERGED("Roots did not converge"),
+    // Turned away by AdmissionExpression without being solved
+    BUSY("Server busy, try again later");
+
+    private static final PolynomialStatus[] BY_CODE = values();
+
+    private final String message;
+
+    PolynomialStatus(String message) {
+        this.message = message;
+    }
+
+    public byte code() { return (byte) ordinal(); }
+    public String getMessage() { return message; }
+
+    public static PolynomialStatus fromCode(byte code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown polynomial status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+}
@@ -1,25 +1,65 @@
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 
-public class Result implements Serializable {
-    private final Double x1;
-    private final Double x2;
-    private final String message;
+// Wire format: status code byte, root count byte, then that many raw doubles.
+// Roots are kept as primitives and only boxed by the getters.
+public class Result implements Externalizable {
+    private static final long serialVersionUID = 1L;
 
-    public Result(Double x1, Double x2, String message) {
+    private Status status;
+    private int rootCount;
+    private double x1;
+    private double x2;
+
+    // For deserialization only
+    public Result() {}
+
+    public Result(Status status, double x1, double x2) {
+        this.status = status;
+        this.rootCount = status.rootCount();
         this.x1 = x1;
         this.x2 = x2;
-        this.message = message;
     }
 
-    public Double getX1() { return x1; }
-    public Double getX2() { return x2; }
-    public String getMessage() { return message; }
+    public Result(Double x1, Double x2, String message) {
+        this.status = Status.fromMessage(message);
+        this.rootCount = x1 == null ? 0 : x2 == null ? 1 : 2;
+        this.x1 = x1 == null ? Double.NaN : x1;
+        this.x2 = x2 == null ? Double.NaN : x2;
+    }
+
+    public Double getX1() { return rootCount > 0 ? x1 : null; }
+    public Double getX2() { return rootCount > 1 ? x2 : null; }
+    public String getMessage() { return status.getMessage(); }
+    public Status getStatus() { return status; }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(status.code());
+        out.writeByte(rootCount);
+        if (rootCount > 0) {
+            out.writeDouble(x1);
+        }
+        if (rootCount > 1) {
+            out.writeDouble(x2);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        status = Status.fromCode(in.readByte());
+        rootCount = in.readByte();
+        x1 = rootCount > 0 ? in.readDouble() : Double.NaN;
+        x2 = rootCount > 1 ? in.readDouble() : Double.NaN;
+    }
 
     @Override
     public String toString() {
-        if (x1 == null && x2 == null)
-            return message;
-        else if (x1 != null && x2 == null)
+        if (rootCount == 0)
+            return getMessage();
+        else if (rootCount == 1)
             return "x = " + x1;
         else
             return "x1 = " + x1 + ", x2 = " + x2;
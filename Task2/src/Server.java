@@ -1,17 +1,64 @@
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class Server {
+    private static final int BINARY_BATCH_QUEUE = 16;
+
     public Server() {}
 
     public static void main(String[] args) {
         try {
-            ExpressionImpl obj = new ExpressionImpl();
+            // Optional argument: size of the solve() cache, 0 or absent to disable
+            int cacheSize = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+            // Optional argument: threads for large solveBatch calls, 0 to solve them sequentially
+            int batchThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+            ParallelSolver batchSolver = batchThreads > 0 ? new ParallelSolver(batchThreads) : null;
+            // Optional argument: port for the binary protocol, 0 or absent for RMI only
+            int binaryPort = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+            // Optional arguments: calls solved at once (0 or absent for no limit), calls
+            // that may wait for a slot, and how long they wait in ms; the rest get BUSY.
+            // For a hard cap on RMI's connection threads as well, run with
+            // -Dsun.rmi.transport.tcp.maxConnectionThreads=<n>.
+            int maxInFlight = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+            int backlog = args.length > 4 ? Integer.parseInt(args[4]) : maxInFlight;
+            long queueTimeout = args.length > 5 ? Long.parseLong(args[5])
+                    : AdmissionExpression.DEFAULT_QUEUE_TIMEOUT_MILLIS;
+            Expression obj = new ExpressionImpl(batchSolver);
+            if (maxInFlight > 0) {
+                // Behind the cache, so hits never wait for a slot
+                AdmissionExpression admission = new AdmissionExpression(obj, maxInFlight, backlog,
+                        queueTimeout, TimeUnit.MILLISECONDS);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(admission)));
+                obj = admission;
+            }
+            if (cacheSize > 0) {
+                CachingExpression cache = new CachingExpression(obj, cacheSize);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(cache)));
+                obj = cache;
+            }
+            // Outermost, so cache hits are counted and timed too
+            MeteredExpression metrics = new MeteredExpression(obj);
+            metrics.register("Expression");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(metrics.getReport())));
+            obj = metrics;
             Expression stub = (Expression) UnicastRemoteObject.exportObject(obj, 0);
             Registry registry = LocateRegistry.getRegistry();
 
             registry.bind("Expression", stub);
+            if (binaryPort > 0) {
+                // Batches block while they are solved, so keep them off the selector thread;
+                // the queue is bounded so that a flood of them is refused, not buffered
+                ExecutorService batchExecutor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(BINARY_BATCH_QUEUE));
+                BinaryServer binary = new BinaryServer(obj, binaryPort, batchExecutor);
+                new Thread(binary, "binary-server").start();
+                System.out.println("Binary protocol on port " + binary.getPort());
+            }
             System.out.println("Server ready!");
         }
         catch (Exception e) {
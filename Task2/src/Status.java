@@ -0,0 +1,39 @@
+public enum Status {
+    NO_ANSWERS("No answers", 0),
+    LINEAR("Success", 1),
+    NO_ROOTS("No roots", 0),
+    ONE_ROOT("One root", 1),
+    TWO_ROOTS("Two roots", 2),
+    // Turned away by AdmissionExpression without being solved
+    BUSY("Server busy, try again later", 0);
+
+    private static final Status[] BY_CODE = values();
+
+    private final String message;
+    private final int rootCount;
+
+    Status(String message, int rootCount) {
+        this.message = message;
+        this.rootCount = rootCount;
+    }
+
+    public byte code() { return (byte) ordinal(); }
+    public String getMessage() { return message; }
+    public int rootCount() { return rootCount; }
+
+    public static Status fromCode(byte code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    public static Status fromMessage(String message) {
+        for (Status status : BY_CODE) {
+            if (status.message.equals(message)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status message: " + message);
+    }
+}
@@ -1,60 +1,120 @@
 import java.io.*;
 import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.Charset;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+// Неблокирующий сервер: поток start() только принимает соединения и раздаёт
+// их по кругу циклам событий (EventLoop). Каждый цикл — один поток со своим
+// Selector, он читает строки своих клиентов и отправляет им рассылки, так что
+// число потоков не зависит от числа клиентов.
 public class SocketServer {
     private static final int PORT = 50001;
     private static final int BROADCAST_INTERVAL = 5000;
 
-    private ServerSocket serverSocket;
-    private List<ClientHandler> clients;
+    // Кодировка и перевод строки те же, что у PrintWriter/BufferedReader клиента
+    private static final Charset CHARSET = Charset.defaultCharset();
+    private static final String WELCOME =
+            "Добро пожаловать в чат! Ваши сообщения будут отправлены всем участникам раз в 5 секунд.";
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+    // Клиент, у которого столько ещё не отправлено, отключается при следующей
+    // рассылке: он не успевает читать
+    private static final int MAX_PENDING_BYTES = 1024 * 1024;
+
+    private final int selectorThreads;
+    private ServerSocketChannel serverChannel;
+    private Selector acceptSelector;
+    private EventLoop[] loops;
+    private final AtomicInteger clientCount = new AtomicInteger();
     private List<String> messageQueue;
     private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    private final AtomicBoolean stopped = new AtomicBoolean();
 
     public SocketServer() {
-        clients = new CopyOnWriteArrayList<>();
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SocketServer(int selectorThreads) {
+        if (selectorThreads <= 0) {
+            throw new IllegalArgumentException("Число потоков-селекторов должно быть положительным: "
+                    + selectorThreads);
+        }
+        this.selectorThreads = selectorThreads;
         messageQueue = new ArrayList<>();
         scheduler = Executors.newScheduledThreadPool(1);
     }
 
     public void start() {
         try {
-            serverSocket = new ServerSocket(PORT);
-            System.out.println("Сервер запущен на порту " + PORT);
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(PORT));
+            serverChannel.configureBlocking(false);
+            acceptSelector = Selector.open();
+            serverChannel.register(acceptSelector, SelectionKey.OP_ACCEPT);
+            running = true;
+
+            loops = new EventLoop[selectorThreads];
+            for (int i = 0; i < loops.length; i++) {
+                loops[i] = new EventLoop(i);
+            }
+            System.out.println("Сервер запущен на порту " + PORT + ", потоков-селекторов: " + selectorThreads);
 
             scheduler.scheduleAtFixedRate(this::broadcastMessages,
                     BROADCAST_INTERVAL, BROADCAST_INTERVAL, TimeUnit.MILLISECONDS);
 
-            while (true) {
-                Socket clientSocket = serverSocket.accept();
-                ClientHandler clientHandler = new ClientHandler(clientSocket);
-                clients.add(clientHandler);
-                new Thread(clientHandler).start();
-
-                System.out.println("Новый клиент подключен. Всего клиентов: " + clients.size());
+            int next = 0;
+            while (running) {
+                acceptSelector.select();
+                acceptSelector.selectedKeys().clear();
+                SocketChannel channel;
+                while ((channel = serverChannel.accept()) != null) {
+                    loops[next].register(channel);
+                    next = (next + 1) % loops.length;
+                }
             }
 
-        } catch (IOException e) {
-            System.err.println("Ошибка сервера: " + e.getMessage());
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                System.err.println("Ошибка сервера: " + e.getMessage());
+            }
         } finally {
             stop();
         }
     }
 
     public void stop() {
+        // Вызывается и из start(), и из обработчика завершения
+        if (!stopped.compareAndSet(false, true)) {
+            return;
+        }
+        running = false;
+        scheduler.shutdown();
         try {
-            if (serverSocket != null) {
-                serverSocket.close();
+            if (acceptSelector != null) {
+                acceptSelector.close();
             }
-            scheduler.shutdown();
-            for (ClientHandler client : clients) {
-                client.stop();
+            if (serverChannel != null) {
+                serverChannel.close();
             }
-            System.out.println("Сервер остановлен");
         } catch (IOException e) {
             System.err.println("Ошибка при остановке сервера: " + e.getMessage());
         }
+        if (loops != null) {
+            for (EventLoop loop : loops) {
+                loop.stop();
+            }
+        }
+        System.out.println("Сервер остановлен");
+    }
+
+    public int getClientCount() {
+        return clientCount.get();
     }
 
     public synchronized void addMessage(String message) {
@@ -62,25 +122,20 @@ public class SocketServer {
         System.out.println("Сообщение добавлено в очередь: " + message);
     }
 
-    private synchronized void broadcastMessages() {
-        if (messageQueue.isEmpty()) {
-            return;
-        }
-
-        String broadcastPacket = createBroadcastPacket();
-
-        Iterator<ClientHandler> iterator = clients.iterator();
-        while (iterator.hasNext()) {
-            ClientHandler client = iterator.next();
-            if (client.isConnected()) {
-                client.sendMessage(broadcastPacket);
-            } else {
-                iterator.remove();
-                System.out.println("Клиент отключен. Осталось клиентов: " + clients.size());
+    private void broadcastMessages() {
+        byte[] packet;
+        synchronized (this) {
+            if (messageQueue.isEmpty()) {
+                return;
             }
+            packet = (createBroadcastPacket() + System.lineSeparator()).getBytes(CHARSET);
+            messageQueue.clear();
         }
 
-        messageQueue.clear();
+        // Пакет кодируется один раз, клиенты получают его без копирования
+        for (EventLoop loop : loops) {
+            loop.broadcast(packet);
+        }
         System.out.println("Широковещательная рассылка выполнена");
     }
 
@@ -99,68 +154,225 @@ public class SocketServer {
         return packet.toString();
     }
 
-    private class ClientHandler implements Runnable {
-        private Socket clientSocket;
-        private PrintWriter out;
-        private BufferedReader in;
-        private boolean connected;
+    // Поток со своим Selector; все поля его соединений трогает только он сам,
+    // другие потоки передают ему работу через очереди и wakeup()
+    private class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<SocketChannel> accepted = new ConcurrentLinkedQueue<>();
+        private final Queue<byte[]> broadcasts = new ConcurrentLinkedQueue<>();
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+        EventLoop(int index) throws IOException {
+            selector = Selector.open();
+            thread = new Thread(this, "selector-" + index);
+            thread.start();
+        }
 
-        public ClientHandler(Socket socket) {
-            this.clientSocket = socket;
-            this.connected = true;
+        void register(SocketChannel channel) {
+            accepted.add(channel);
+            selector.wakeup();
+        }
+
+        void broadcast(byte[] packet) {
+            broadcasts.add(packet);
+            selector.wakeup();
+        }
+
+        void stop() {
+            selector.wakeup();
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
 
         @Override
         public void run() {
             try {
-                in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
-                out = new PrintWriter(clientSocket.getOutputStream(), true);
+                while (running) {
+                    selector.select();
+                    registerAccepted();
+                    sendBroadcasts();
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isValid() && key.isReadable()) {
+                            read(connection);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            write(connection);
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                if (running) {
+                    System.err.println("Ошибка цикла событий: " + e.getMessage());
+                }
+            } finally {
+                closeAll();
+            }
+        }
 
-                // Отправляем приветственное сообщение
-                out.println("Добро пожаловать в чат! Ваши сообщения будут отправлены всем участникам раз в 5 секунд.");
+        private void registerAccepted() {
+            SocketChannel channel;
+            while ((channel = accepted.poll()) != null) {
+                try {
+                    channel.configureBlocking(false);
+                    Connection connection = new Connection(channel);
+                    connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                    System.out.println("Новый клиент подключен. Всего клиентов: " + clientCount.incrementAndGet());
+                    send(connection, (WELCOME + System.lineSeparator()).getBytes(CHARSET));
+                } catch (IOException e) {
+                    System.err.println("Ошибка обработки клиента: " + e.getMessage());
+                    closeQuietly(channel);
+                }
+            }
+        }
 
-                String inputLine;
-                while ((inputLine = in.readLine()) != null && connected) {
-                    if (!inputLine.trim().isEmpty()) {
-                        addMessage("Клиент-" + getClientId() + ": " + inputLine);
+        private void sendBroadcasts() {
+            byte[] packet;
+            while ((packet = broadcasts.poll()) != null) {
+                for (SelectionKey key : selector.keys()) {
+                    if (key.isValid()) {
+                        send((Connection) key.attachment(), packet);
                     }
                 }
+            }
+        }
 
+        private void read(Connection connection) {
+            readBuffer.clear();
+            try {
+                if (connection.channel.read(readBuffer) < 0) {
+                    disconnect(connection);
+                    return;
+                }
             } catch (IOException e) {
-                System.err.println("Ошибка обработки клиента: " + e.getMessage());
-            } finally {
-                stop();
+                disconnect(connection);
+                return;
+            }
+            readBuffer.flip();
+            while (readBuffer.hasRemaining()) {
+                byte b = readBuffer.get();
+                if (b == '\n') {
+                    onLine(connection);
+                } else if (!connection.append(b)) {
+                    System.err.println("Клиент-" + connection.id + " отключен: слишком длинная строка");
+                    disconnect(connection);
+                    return;
+                }
+            }
+        }
+
+        private void onLine(Connection connection) {
+            int length = connection.lineLength;
+            if (length > 0 && connection.line[length - 1] == '\r') {
+                length--;
+            }
+            String inputLine = new String(connection.line, 0, length, CHARSET);
+            connection.lineLength = 0;
+            if (!inputLine.trim().isEmpty()) {
+                addMessage("Клиент-" + connection.id + ": " + inputLine);
+            }
+        }
+
+        private void send(Connection connection, byte[] data) {
+            if (connection.pendingBytes >= MAX_PENDING_BYTES) {
+                System.err.println("Клиент-" + connection.id + " отключен: не успевает читать сообщения");
+                disconnect(connection);
+                return;
             }
+            connection.output.add(ByteBuffer.wrap(data));
+            connection.pendingBytes += data.length;
+            write(connection);
         }
 
-        public void sendMessage(String message) {
-            if (out != null) {
-                out.println(message);
+        private void write(Connection connection) {
+            try {
+                ByteBuffer head;
+                while ((head = connection.output.peek()) != null) {
+                    connection.pendingBytes -= connection.channel.write(head);
+                    if (head.hasRemaining()) {
+                        break;
+                    }
+                    connection.output.poll();
+                }
+                connection.key.interestOps(connection.output.isEmpty()
+                        ? SelectionKey.OP_READ
+                        : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            } catch (IOException | CancelledKeyException e) {
+                disconnect(connection);
             }
         }
 
-        public void stop() {
-            connected = false;
+        private void disconnect(Connection connection) {
+            if (!connection.key.isValid()) {
+                return;
+            }
+            connection.key.cancel();
+            closeQuietly(connection.channel);
+            System.out.println("Клиент отключен. Осталось клиентов: " + clientCount.decrementAndGet());
+        }
+
+        private void closeAll() {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            SocketChannel channel;
+            while ((channel = accepted.poll()) != null) {
+                closeQuietly(channel);
+            }
             try {
-                if (in != null) in.close();
-                if (out != null) out.close();
-                if (clientSocket != null) clientSocket.close();
+                selector.close();
             } catch (IOException e) {
-                System.err.println("Ошибка при закрытии соединения с клиентом: " + e.getMessage());
+                System.err.println("Ошибка при закрытии селектора: " + e.getMessage());
             }
         }
+    }
 
-        public boolean isConnected() {
-            return connected && !clientSocket.isClosed() && clientSocket.isConnected();
+    private static class Connection {
+        private final SocketChannel channel;
+        private final String id;
+        private SelectionKey key;
+        // Начало ещё не дочитанной строки
+        private byte[] line = new byte[128];
+        private int lineLength;
+        private final Queue<ByteBuffer> output = new ArrayDeque<>();
+        private long pendingBytes;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            Socket socket = channel.socket();
+            this.id = socket.getInetAddress().toString() + ":" + socket.getPort();
+        }
+
+        boolean append(byte b) {
+            if (lineLength == line.length) {
+                if (line.length >= MAX_LINE_BYTES) {
+                    return false;
+                }
+                line = Arrays.copyOf(line, Math.min(2 * line.length, MAX_LINE_BYTES));
+            }
+            line[lineLength++] = b;
+            return true;
         }
+    }
 
-        private String getClientId() {
-            return clientSocket.getInetAddress().toString() + ":" + clientSocket.getPort();
+    private static void closeQuietly(Channel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Ошибка при закрытии соединения с клиентом: " + e.getMessage());
         }
     }
 
+    // Необязательный аргумент: число потоков-селекторов (по умолчанию число ядер)
     public static void main(String[] args) {
-        SocketServer server = new SocketServer();
+        SocketServer server = args.length > 0
+                ? new SocketServer(Integer.parseInt(args[0]))
+                : new SocketServer();
 
         Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
 